@@ -3,6 +3,7 @@ plugins {
 	id("org.springframework.boot") version "4.0.2"
 	id("io.spring.dependency-management") version "1.1.7"
 	id("org.asciidoctor.jvm.convert") version "4.0.5"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.alpian"
@@ -27,6 +28,19 @@ repositories {
 
 extra["snippetsDir"] = file("build/generated-snippets")
 
+// End-to-end load tests: boot the application on Testcontainers and drive it over HTTP (./gradlew loadTest)
+val loadTest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+	runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+
+configurations {
+	named("loadTestImplementation") { extendsFrom(configurations.testImplementation.get()) }
+	named("loadTestRuntimeOnly") { extendsFrom(configurations.testRuntimeOnly.get()) }
+	named("loadTestCompileOnly") { extendsFrom(configurations.testCompileOnly.get()) }
+	named("loadTestAnnotationProcessor") { extendsFrom(configurations.testAnnotationProcessor.get()) }
+}
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("io.micrometer:micrometer-registry-prometheus")
@@ -39,6 +53,8 @@ dependencies {
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.7.0")
 	implementation("org.mapstruct:mapstruct:1.5.5.Final")
 	implementation("com.github.kagkarlsson:db-scheduler-spring-boot-starter:14.0.3")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("net.ttddyy:datasource-proxy:1.10")
 	compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	runtimeOnly("org.postgresql:postgresql")
@@ -63,12 +79,24 @@ dependencies {
 	testImplementation("org.testcontainers:kafka:1.21.4")
 	testImplementation("org.testcontainers:junit-jupiter:1.21.4")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.register<Test>("loadTest") {
+	description = "Runs the end-to-end load test; tune it with -Ploadtest.<setting>=<value>."
+	group = LifecycleBasePlugin.VERIFICATION_GROUP
+	testClassesDirs = loadTest.output.classesDirs
+	classpath = loadTest.runtimeClasspath
+	systemProperty("loadtest.report-dir", layout.buildDirectory.dir("reports/load-test").get().asFile.path)
+	systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+	outputs.upToDateWhen { false }
+	testLogging.showStandardStreams = true
+}
+
 tasks.named<JavaCompile>("compileJava") {
 	options.compilerArgs.addAll(listOf(
 		"-Amapstruct.defaultComponentModel=spring",
@@ -78,6 +106,20 @@ tasks.named<JavaCompile>("compileJava") {
 
 tasks.test {
 	outputs.dir(project.extra["snippetsDir"]!!)
+	// PaymentAllocationBudgetIntegrationTest: -Pallocation.calibrate=true writes measured budgets instead of checking them
+	systemProperty("allocation.report-dir", layout.buildDirectory.dir("reports/allocation").get().asFile.path)
+	systemProperties(project.properties.filterKeys { it.startsWith("allocation.") })
+}
+
+// Micro-benchmarks for the payment hot path: ./gradlew jmh
+// The gc profiler reports gc.alloc.rate.norm (bytes allocated per operation) next to the timings.
+jmh {
+	jmhVersion = "1.37"
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	profilers = listOf("gc")
+	resultFormat = "JSON"
 }
 
 tasks.asciidoctor {
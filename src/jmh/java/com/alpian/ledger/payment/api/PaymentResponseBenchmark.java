@@ -0,0 +1,60 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.api.dto.PaymentHistoryResponse;
+import com.alpian.ledger.payment.api.dto.PaymentResponse;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link PaymentController} response building: one payment after {@code POST /payments}, and a
+ * full history page including its next cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PaymentResponseBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private Payment payment;
+    private Page<AccountEntry> historyPage;
+
+    @Setup
+    public void setUp() {
+        payment = payment(0);
+        List<AccountEntry> entries = IntStream.range(0, pageSize)
+                .mapToObj(i -> AccountEntry.in(payment(i), Money.ofMinor(100_000L + i)))
+                .toList();
+        historyPage = new PageImpl<>(entries, PageRequest.of(0, pageSize), 10L * pageSize);
+    }
+
+    @Benchmark
+    public PaymentResponse createdPayment() {
+        return PaymentController.buildPaymentResponse(payment);
+    }
+
+    @Benchmark
+    public PaymentHistoryResponse historyPage() {
+        return PaymentController.buildHistoryResponse(historyPage, PaymentController.buildPaymentResponses(historyPage));
+    }
+
+    private static Payment payment(int i) {
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.CREDIT, null, "ACC001",
+                Money.ofMinor(1_000L + i), "key-" + i, Instant.parse("2026-02-08T09:00:00Z").minusSeconds(i));
+        payment.complete();
+        return payment;
+    }
+}
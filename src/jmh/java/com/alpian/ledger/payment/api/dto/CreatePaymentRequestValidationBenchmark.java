@@ -0,0 +1,56 @@
+package com.alpian.ledger.payment.api.dto;
+
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation as run for every {@code POST /payments}: the account id rule on its own, and the
+ * full Bean Validation pass for a valid and an invalid request (the latter builds violation messages).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CreatePaymentRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private CreatePaymentRequest transfer;
+    private CreatePaymentRequest sameAccountTransfer;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        transfer = new CreatePaymentRequest(TransactionType.INTERNAL_TRANSFER, "ACC001", "ACC002", Money.parse("125.50"));
+        sameAccountTransfer = new CreatePaymentRequest(TransactionType.INTERNAL_TRANSFER, "ACC001", "ACC001", Money.parse("125.50"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean isValidAccountIds() {
+        return transfer.isValidAccountIds();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreatePaymentRequest>> validateValidRequest() {
+        return validator.validate(transfer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreatePaymentRequest>> validateInvalidRequest() {
+        return validator.validate(sameAccountTransfer);
+    }
+}
@@ -0,0 +1,68 @@
+package com.alpian.ledger.payment.infrastructure.mapper;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.PaymentStatus;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryView;
+import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/domain conversions done once per payment write and once per history row read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PaymentMapperBenchmark {
+
+    // Every method is a default method; the generated Spring implementation adds nothing
+    private final PaymentMapper mapper = new PaymentMapper() {};
+
+    private Payment payment;
+    private PaymentEntity paymentEntity;
+    private AccountEntry entry;
+    private AccountEntryView view;
+
+    @Setup
+    public void setUp() {
+        UUID paymentId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-02-08T09:00:00Z");
+
+        payment = new Payment(paymentId, TransactionType.INTERNAL_TRANSFER, "ACC001", "ACC002",
+                Money.parse("125.50"), paymentId.toString(), createdAt);
+        payment.complete();
+        paymentEntity = mapper.toEntity(payment);
+        entry = AccountEntry.out(payment, Money.parse("874.50"));
+        view = new AccountEntryView("ACC001", 1L, EntryDirection.OUT, 87450L, paymentId,
+                TransactionType.INTERNAL_TRANSFER, "ACC001", "ACC002", 12550L, PaymentStatus.COMPLETED,
+                paymentId.toString(), createdAt);
+    }
+
+    @Benchmark
+    public PaymentEntity paymentToEntity() {
+        return mapper.toEntity(payment);
+    }
+
+    @Benchmark
+    public Payment paymentToDomain() {
+        return mapper.toDomain(paymentEntity);
+    }
+
+    @Benchmark
+    public AccountEntryEntity entryToEntity() {
+        return mapper.toEntity(entry);
+    }
+
+    @Benchmark
+    public AccountEntry historyRowToDomain() {
+        return mapper.toDomain(view);
+    }
+}
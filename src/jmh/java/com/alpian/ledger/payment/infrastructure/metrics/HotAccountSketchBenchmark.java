@@ -0,0 +1,54 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-payment cost of {@link HotAccountSketch#record}: a cold account that stays out of the top-K
+ * table, and a hot account that is already in it. Run with several threads to see contention on
+ * shared counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HotAccountSketchBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+
+    private HotAccountSketch sketch;
+    private String[] accountIds;
+
+    @Setup
+    public void setUp() {
+        sketch = new HotAccountSketch(2048, 4, 32, Duration.ofSeconds(10));
+        accountIds = IntStream.range(0, ACCOUNTS).mapToObj(i -> "ACC-%06d".formatted(i)).toArray(String[]::new);
+        // Fill the top-K table with hot accounts so cold records take the fast path
+        for (int round = 0; round < 1_000; round++) {
+            for (int hot = 0; hot < 32; hot++) {
+                sketch.record(accountIds[hot]);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordColdAccount() {
+        sketch.record(accountIds[32 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 32)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordHotAccount() {
+        sketch.record(accountIds[ThreadLocalRandom.current().nextInt(32)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordColdAccountContended() {
+        sketch.record(accountIds[32 + ThreadLocalRandom.current().nextInt(ACCOUNTS - 32)]);
+    }
+}
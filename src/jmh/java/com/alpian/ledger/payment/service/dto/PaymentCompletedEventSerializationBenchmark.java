@@ -0,0 +1,45 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.config.JacksonConfig;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.PaymentStatus;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox payload round trip through the application's {@link ObjectMapper}: written once per payment
+ * by the outbox, read back by the cache invalidator on every instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PaymentCompletedEventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PaymentCompletedEvent event;
+    private String payload;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+        event = new PaymentCompletedEvent(UUID.randomUUID(), TransactionType.INTERNAL_TRANSFER, "ACC001", "ACC002",
+                Money.parse("125.50"), PaymentStatus.COMPLETED, Instant.parse("2026-02-08T09:00:00Z"));
+        payload = objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public PaymentCompletedEvent deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(payload, PaymentCompletedEvent.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.alpian.ledger.payment.service.strategy;
+
+import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy lookup done once per payment. The strategies are stubs: only their type matters here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PaymentStrategyFactoryBenchmark {
+
+    private PaymentStrategyFactory factory;
+
+    @Param({"DEBIT", "CREDIT", "INTERNAL_TRANSFER"})
+    public TransactionType type;
+
+    @Setup
+    public void setUp() {
+        factory = new PaymentStrategyFactory(Arrays.stream(TransactionType.values())
+                .map(StubStrategy::new)
+                .map(PaymentStrategy.class::cast)
+                .toList());
+    }
+
+    @Benchmark
+    public PaymentStrategy getStrategy() {
+        return factory.getStrategy(type);
+    }
+
+    private record StubStrategy(TransactionType type) implements PaymentStrategy {
+
+        @Override
+        public TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public Payment execute(CreatePaymentRequest request, String idempotencyKey) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.alpian.ledger.payment.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the seeded account (by index) that the next request targets.
+ */
+@FunctionalInterface
+interface AccountPicker {
+
+    int next();
+
+    static AccountPicker uniform(int accounts) {
+        return () -> ThreadLocalRandom.current().nextInt(accounts);
+    }
+
+    /**
+     * Account {@code k} (0-based) is picked with probability proportional to {@code 1 / (k + 1)^exponent},
+     * so with the default exponent of 1.1 the first 1% of accounts take roughly half the traffic.
+     */
+    static AccountPicker zipfian(int accounts, double exponent) {
+        double[] cumulative = new double[accounts];
+        double sum = 0;
+        for (int k = 0; k < accounts; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        double total = sum;
+        return () -> {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble(total));
+            return Math.min(index >= 0 ? index : -index - 1, accounts - 1);
+        };
+    }
+}
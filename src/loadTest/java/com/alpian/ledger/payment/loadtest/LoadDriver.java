@@ -0,0 +1,155 @@
+package com.alpian.ledger.payment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load: {@code concurrency} virtual threads each send one request at a time, chosen
+ * by the {@link Workload}, until the run ends. Latency is recorded per {@link Operation} in an
+ * HdrHistogram, from just before sending to the full response body being read.
+ */
+final class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final List<String> accountIds;
+    private final Workload workload;
+    private final AccountPicker accounts;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadDriver(String baseUrl, List<String> accountIds, Workload workload, AccountPicker accounts) {
+        this.baseUrl = baseUrl;
+        this.accountIds = accountIds;
+        this.workload = workload;
+        this.accounts = accounts;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the warm-up and then the measured period, blocking until every worker has finished.
+     */
+    void run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long until = measureFrom + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < until) {
+                        send(workload.nextOperation(), measureFrom);
+                    }
+                });
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(duration.plus(warmup).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Load workers did not finish");
+            }
+        }
+    }
+
+    Map<Operation, LoadReport.LatencyStats> results() {
+        Map<Operation, LoadReport.LatencyStats> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, LoadReport.LatencyStats.of(latencies.get(operation),
+                    rejected.get(operation).sum(), errors.get(operation).sum()));
+        }
+        return results;
+    }
+
+    private void send(Operation operation, long measureFrom) {
+        HttpRequest request = request(operation);
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (start < measureFrom) {
+            return;
+        }
+
+        latencies.get(operation).recordValue(Math.min(elapsed, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 400 && status < 500) {
+            rejected.get(operation).increment();
+        } else if (status < 200 || status >= 500) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        int index = accounts.next();
+        String account = accountIds.get(index);
+        return switch (operation) {
+            case CREDIT -> payment("""
+                    {"type":"CREDIT","toAccountId":"%s","amount":%s}""".formatted(account, amount()));
+            case DEBIT -> payment("""
+                    {"type":"DEBIT","fromAccountId":"%s","amount":%s}""".formatted(account, amount()));
+            case INTERNAL_TRANSFER -> payment("""
+                    {"type":"INTERNAL_TRANSFER","fromAccountId":"%s","toAccountId":"%s","amount":%s}"""
+                    .formatted(account, accountIds.get(otherAccount(index)), amount()));
+            case HISTORY_PAGE -> history(account, 0);
+            case HISTORY_DEEP_PAGE -> history(account, 1);
+        };
+    }
+
+    private HttpRequest payment(String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/payments"))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest history(String account, int page) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/payments/history/" + account + "?page=" + page + "&size=20"))
+                .GET()
+                .build();
+    }
+
+    private int otherAccount(int index) {
+        int other = accounts.next();
+        if (other == index) {
+            // Hot accounts collide often under skew; fall back to any other account
+            other = (index + 1 + ThreadLocalRandom.current().nextInt(accountIds.size() - 1)) % accountIds.size();
+        }
+        return other;
+    }
+
+    private static BigDecimal amount() {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(1, 1_000), 2);
+    }
+}
@@ -0,0 +1,57 @@
+package com.alpian.ledger.payment.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Machine-readable result of one load test run, written as JSON next to the build reports.
+ * Latencies are in milliseconds; only requests started after the warm-up are counted.
+ */
+record LoadReport(
+        Workload workload,
+        int accounts,
+        int concurrency,
+        double measuredSeconds,
+        long requests,
+        double throughputPerSecond,
+        Map<Operation, LatencyStats> operations,
+        OutboxLag outboxLag
+) {
+
+    /**
+     * {@code rejected} counts 4xx answers (e.g. insufficient funds on a hot account), {@code errors}
+     * counts 5xx answers and requests that failed without a response.
+     */
+    record LatencyStats(long count, long rejected, long errors, double meanMs, double p50Ms, double p90Ms,
+                        double p99Ms, double p999Ms, double maxMs) {
+
+        static LatencyStats of(Histogram nanos, long rejected, long errors) {
+            return new LatencyStats(nanos.getTotalCount(), rejected, errors,
+                    millis(nanos.getMean()),
+                    millis(nanos.getValueAtPercentile(50)),
+                    millis(nanos.getValueAtPercentile(90)),
+                    millis(nanos.getValueAtPercentile(99)),
+                    millis(nanos.getValueAtPercentile(99.9)),
+                    millis(nanos.getMaxValue()));
+        }
+
+        private static double millis(double nanos) {
+            return Math.round(nanos / 1_000) / 1_000.0;
+        }
+    }
+
+    /**
+     * Time from an outbox row being written to it being marked SENT. {@code unsent} events were
+     * still pending when the report was taken.
+     */
+    record OutboxLag(long events, long unsent, double p50Ms, double p99Ms, double maxMs) {
+
+        static OutboxLag of(Histogram millis, long unsent) {
+            return new OutboxLag(millis.getTotalCount(), unsent,
+                    millis.getValueAtPercentile(50),
+                    millis.getValueAtPercentile(99),
+                    millis.getMaxValue());
+        }
+    }
+}
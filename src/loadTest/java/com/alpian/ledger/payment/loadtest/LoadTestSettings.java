@@ -0,0 +1,31 @@
+package com.alpian.ledger.payment.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (passed through by
+ * {@code ./gradlew loadTest -Ploadtest.workload=zipfian ...}).
+ */
+record LoadTestSettings(
+        Workload workload,
+        int accounts,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        double zipfExponent,
+        Path reportDir
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Workload.parse(System.getProperty("loadtest.workload", "uniform")),
+                Integer.getInteger("loadtest.accounts", 1_000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "1.1")),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/load-test"))
+        );
+    }
+}
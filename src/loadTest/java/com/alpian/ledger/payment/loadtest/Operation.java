@@ -0,0 +1,14 @@
+package com.alpian.ledger.payment.loadtest;
+
+/**
+ * Request kinds issued by the load driver; latencies are recorded per kind.
+ */
+enum Operation {
+    CREDIT,
+    DEBIT,
+    INTERNAL_TRANSFER,
+    /** Offset page 0 of payment history, normally served by the history cache */
+    HISTORY_PAGE,
+    /** Page 1 of payment history, always read from the database */
+    HISTORY_DEEP_PAGE
+}
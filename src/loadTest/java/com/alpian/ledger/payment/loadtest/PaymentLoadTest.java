@@ -0,0 +1,113 @@
+package com.alpian.ledger.payment.loadtest;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on the Testcontainers Postgres and Kafka, seeds accounts and drives it over
+ * HTTP with the configured {@link Workload}. Writes {@code <workload>.json} to the report directory
+ * and fails only on server errors: throughput and latency are for comparison between runs.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PaymentLoadTest extends AbstractIntegrationTest {
+
+    // 1,000,000.00 per account, so debits only get rejected on a very hot account
+    private static final long SEED_BALANCE = 100_000_000L;
+    private static final Duration OUTBOX_DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runWorkload() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        log.info("Load test settings: {}", settings);
+
+        List<String> accountIds = seedAccounts(settings.accounts());
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, accountIds, settings.workload(),
+                settings.workload().accountPicker(settings.accounts(), settings.zipfExponent()));
+
+        Instant measuredFrom = Instant.now().plus(settings.warmup());
+        driver.run(settings.concurrency(), settings.warmup(), settings.duration());
+
+        var operations = driver.results();
+        long requests = operations.values().stream().mapToLong(LoadReport.LatencyStats::count).sum();
+        double seconds = settings.duration().toMillis() / 1_000.0;
+        LoadReport report = new LoadReport(settings.workload(), settings.accounts(), settings.concurrency(), seconds,
+                requests, Math.round(requests / seconds * 10) / 10.0, operations, outboxLag(measuredFrom));
+
+        Path file = writeReport(settings.reportDir(), report);
+        log.info("Load test report written to {}:\n{}", file,
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        assertThat(operations).allSatisfy((operation, stats) ->
+                assertThat(stats.errors()).as("%s server errors", operation).isZero());
+    }
+
+    private List<String> seedAccounts(int accounts) {
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) " +
+                            "SELECT 'LOAD-' || lpad(g::text, 7, '0'), ? FROM generate_series(0, ? - 1) g " +
+                            "ON CONFLICT (account_id) DO NOTHING",
+                SEED_BALANCE, accounts);
+        return IntStream.range(0, accounts)
+                .mapToObj(i -> "LOAD-%07d".formatted(i))
+                .toList();
+    }
+
+    /**
+     * Waits for the outbox poller to catch up, then reads the write-to-SENT delay of every event
+     * created in the measured period.
+     */
+    private LoadReport.OutboxLag outboxLag(Instant measuredFrom) throws InterruptedException {
+        long deadline = System.nanoTime() + OUTBOX_DRAIN_TIMEOUT.toNanos();
+        long unsent = countUnsent();
+        while (unsent > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(500);
+            unsent = countUnsent();
+        }
+
+        Histogram lagMillis = new Histogram(3);
+        jdbcTemplate.query("SELECT (EXTRACT(EPOCH FROM (updated_at - created_at)) * 1000)::bigint AS lag_ms " +
+                           "FROM outbox_events WHERE status = 'SENT' AND created_at >= ?",
+                rs -> lagMillis.recordValue(Math.max(0, rs.getLong("lag_ms"))),
+                Timestamp.from(measuredFrom));
+        return LoadReport.OutboxLag.of(lagMillis, unsent);
+    }
+
+    private long countUnsent() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE status = 'NEW'", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private Path writeReport(Path reportDir, LoadReport report) throws Exception {
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve(report.workload().name().toLowerCase(Locale.ROOT) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+}
@@ -0,0 +1,57 @@
+package com.alpian.ledger.payment.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Operation mix and account distribution of a load test run. Weights are relative.
+ */
+enum Workload {
+
+    /** Every account equally likely, a balanced mix of writes and history reads */
+    UNIFORM(false, Mix.BALANCED),
+
+    /** Same mix as UNIFORM, but a few hot accounts receive most requests (row lock contention) */
+    ZIPFIAN(true, Mix.BALANCED),
+
+    /** Mostly two-account transfers, which lock both accounts */
+    TRANSFER_HEAVY(false, Map.of(
+            Operation.CREDIT, 5, Operation.DEBIT, 5, Operation.INTERNAL_TRANSFER, 70,
+            Operation.HISTORY_PAGE, 15, Operation.HISTORY_DEEP_PAGE, 5));
+
+    private final boolean skewed;
+    private final Operation[] table;
+
+    Workload(boolean skewed, Map<Operation, Integer> weights) {
+        this.skewed = skewed;
+        // One slot per unit of weight, so picking an operation is a single random index
+        this.table = new EnumMap<>(weights).entrySet().stream()
+                .flatMap(weight -> Stream.generate(weight::getKey).limit(weight.getValue()))
+                .toArray(Operation[]::new);
+    }
+
+    static Workload parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported workload: " + value + " (uniform, zipfian or transfer-heavy)", e);
+        }
+    }
+
+    Operation nextOperation() {
+        return table[ThreadLocalRandom.current().nextInt(table.length)];
+    }
+
+    AccountPicker accountPicker(int accounts, double zipfExponent) {
+        return skewed ? AccountPicker.zipfian(accounts, zipfExponent) : AccountPicker.uniform(accounts);
+    }
+
+    private static final class Mix {
+        static final Map<Operation, Integer> BALANCED = Map.of(
+                Operation.CREDIT, 20, Operation.DEBIT, 20, Operation.INTERNAL_TRANSFER, 20,
+                Operation.HISTORY_PAGE, 30, Operation.HISTORY_DEEP_PAGE, 10);
+    }
+}
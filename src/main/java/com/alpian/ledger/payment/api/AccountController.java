@@ -1,21 +1,55 @@
 package com.alpian.ledger.payment.api;
 
+import com.alpian.ledger.payment.api.dto.AccountBalanceResponse;
+import com.alpian.ledger.payment.api.dto.AccountBatchResponse;
+import com.alpian.ledger.payment.api.dto.AccountChangesResponse;
+import com.alpian.ledger.payment.api.dto.AccountLookupResponse;
 import com.alpian.ledger.payment.api.dto.AccountResponse;
+import com.alpian.ledger.payment.api.dto.AccountStatsResponse;
+import com.alpian.ledger.payment.api.dto.ActivityPeriodResponse;
+import com.alpian.ledger.payment.api.dto.PaymentResponse;
 import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.infrastructure.datasource.LogSequenceNumber;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadConsistency;
+import com.alpian.ledger.payment.service.AccountActivityService;
 import com.alpian.ledger.payment.service.AccountService;
+import com.alpian.ledger.payment.service.PaymentService;
+import com.alpian.ledger.payment.service.StatementService;
+import com.alpian.ledger.payment.service.dto.AccountChanges;
+import com.alpian.ledger.payment.service.dto.ActivityGranularity;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for account operations
@@ -24,28 +58,203 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/accounts")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 @Tag(name = "Account API", description = "Endpoints for account operations")
 public class AccountController {
 
     private final AccountService accountService;
+    private final StatementService statementService;
+    private final AccountActivityService activityService;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    @Operation(summary = "Get several accounts",
+               description = "Retrieves up to 100 accounts in one request; unknown accounts are reported per item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed"),
+            @ApiResponse(responseCode = "400", description = "No ids or more than 100 ids")
+    })
+    @Timed(value = "api.account.batch", description = "Time taken to process batch account lookup API request")
+    public ResponseEntity<AccountBatchResponse> getAccounts(
+            @Parameter(description = "Comma-separated account IDs (max 100)", example = "ACC001,ACC002", required = true)
+            @RequestParam @Size(min = 1, max = 100) List<String> ids) {
+
+        log.info("Fetching {} accounts", ids.size());
+
+        LinkedHashSet<String> accountIds = new LinkedHashSet<>(ids);
+        Map<String, Account> accounts = accountService.getAccounts(accountIds);
+        List<AccountLookupResponse> items = accountIds.stream()
+                .map(id -> {
+                    Account account = accounts.get(id);
+                    return account == null
+                            ? AccountLookupResponse.notFound(id)
+                            : AccountLookupResponse.found(id, account.balance());
+                })
+                .toList();
+
+        return ResponseEntity.ok(new AccountBatchResponse(items));
+    }
 
     @GetMapping("/{accountId}")
     @Operation(summary = "Get account details", description = "Retrieves account information including current balance")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account found"),
+            @ApiResponse(responseCode = "304", description = "Account unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     @Timed(value = "api.account.get", description = "Time taken to process get account API request")
     public ResponseEntity<AccountResponse> getAccount(
             @Parameter(description = "Account ID", required = true)
-            @PathVariable String accountId) {
+            @PathVariable String accountId,
+            WebRequest webRequest) {
 
         log.info("Fetching account details for {}", accountId);
 
         Account account = accountService.getAccount(accountId);
+        String eTag = AccountETags.ofVersion(account.version());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         AccountResponse response = buildAccountResponse(account);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @GetMapping("/{accountId}/balance")
+    @Operation(summary = "Get balance at a point in time",
+               description = "Returns the account balance as it was right after the last entry at or before asOf")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance found"),
+            @ApiResponse(responseCode = "400", description = "Account not found or invalid timestamp")
+    })
+    @Timed(value = "api.account.balance", description = "Time taken to process point-in-time balance API request")
+    public ResponseEntity<AccountBalanceResponse> getBalanceAsOf(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable String accountId,
+            @Parameter(description = "ISO-8601 instant", example = "2026-01-31T23:59:59Z", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+
+        log.info("Fetching balance of account {} as of {}", accountId, asOf);
+
+        Money balance = accountService.getBalanceAsOf(accountId, asOf);
+        return ResponseEntity.ok(new AccountBalanceResponse(accountId, balance, asOf));
+    }
+
+    @GetMapping("/{accountId}/stats")
+    @Operation(summary = "Get account activity",
+               description = "Inflow, outflow and entry counts per UTC day or month, from pre-aggregated daily rollups. " +
+                       "Defaults to the last 30 days, or the last 12 months for monthly granularity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Activity found"),
+            @ApiResponse(responseCode = "400", description = "Account not found, invalid date range or unsupported granularity")
+    })
+    @Timed(value = "api.account.stats", description = "Time taken to process account activity API request")
+    public ResponseEntity<AccountStatsResponse> getStats(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable String accountId,
+            @Parameter(description = "day or month", example = "day")
+            @RequestParam(defaultValue = "day") String granularity,
+            @Parameter(description = "First day (UTC) to include", example = "2026-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (UTC) to include, defaults to today", example = "2026-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        ActivityGranularity activityGranularity = ActivityGranularity.parse(granularity);
+        LocalDate until = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate since = from != null ? from : switch (activityGranularity) {
+            case DAY -> until.minusDays(29);
+            case MONTH -> until.withDayOfMonth(1).minusMonths(11);
+        };
+        log.info("Fetching {} stats for account {} from {} to {}", activityGranularity, accountId, since, until);
+
+        List<ActivityPeriodResponse> periods = activityService.getActivity(accountId, activityGranularity, since, until)
+                .stream()
+                .map(AccountController::buildActivityPeriodResponse)
+                .toList();
+        return ResponseEntity.ok(new AccountStatsResponse(accountId, activityGranularity, since, until, periods));
+    }
+
+    @GetMapping("/{accountId}/changes")
+    @Operation(summary = "Get account changes since a sequence",
+               description = "Entries recorded after the client-held sequence number, oldest first. " +
+                       "Start with since=0 and send the returned nextSince on the next sync; an up-to-date client " +
+                       "gets an empty list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved"),
+            @ApiResponse(responseCode = "400", description = "Account not found or invalid parameters")
+    })
+    @Timed(value = "api.account.changes", description = "Time taken to process account changes API request")
+    public ResponseEntity<AccountChangesResponse> getChanges(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable String accountId,
+            @Parameter(description = "Last sequence number the client has seen", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(description = "Maximum number of entries (max 500)", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(500) int limit) {
+
+        log.debug("Fetching changes for account {} since {}", accountId, since);
+
+        AccountChanges changes = paymentService.getChangesSince(accountId, since, limit);
+        List<PaymentResponse> payments = changes.entries().stream()
+                .map(PaymentController::buildPaymentResponseWithDirection)
+                .toList();
+        return ResponseEntity.ok(new AccountChangesResponse(accountId, since, changes.nextSince(),
+                                                            changes.hasMore(), payments));
+    }
+
+    @GetMapping("/{accountId}/statement")
+    @Operation(summary = "Export account statement",
+               description = "Streams every entry of the account between two UTC dates (inclusive), oldest first, " +
+                       "as newline-delimited JSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statement streamed"),
+            @ApiResponse(responseCode = "400", description = "Account not found, invalid date range or unsupported format")
+    })
+    @Timed(value = "api.account.statement", description = "Time taken to start an account statement export")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @Parameter(description = "Account ID", required = true)
+            @PathVariable String accountId,
+            @Parameter(description = "First day (UTC) to include", example = "2026-01-01", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (UTC) to include", example = "2026-12-31", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "ndjson or csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        log.info("Exporting {} statement for account {} from {} to {}", format, accountId, from, to);
+
+        StatementFormat statementFormat = StatementFormat.parse(format);
+        statementService.checkExportable(accountId, from, to);
+
+        // The body is written on an async thread; carry the request's consistency token over to it
+        LogSequenceNumber requiredLsn = ReadConsistency.requiredLsn();
+        StreamingResponseBody body = out -> {
+            if (requiredLsn != null) {
+                ReadConsistency.require(requiredLsn);
+            }
+            try (StatementWriter writer = statementFormat.open(out, objectMapper)) {
+                statementService.exportStatement(accountId, from, to, writer::write);
+            } finally {
+                ReadConsistency.clear();
+            }
+        };
+
+        String filename = accountId + "-statement-" + from + "-" + to + "." + statementFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(statementFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static ActivityPeriodResponse buildActivityPeriodResponse(ActivityPeriod period) {
+        return new ActivityPeriodResponse(
+                period.period(),
+                period.inflow(),
+                period.outflow(),
+                period.inflowCount(),
+                period.outflowCount()
+        );
     }
 
     private AccountResponse buildAccountResponse(Account account) {
@@ -0,0 +1,15 @@
+package com.alpian.ledger.payment.api;
+
+/**
+ * Strong entity tags derived from the account version, which every balance update increments.
+ * Payment history only grows through balance updates, so the same tag covers an account's history.
+ */
+final class AccountETags {
+
+    private AccountETags() {
+    }
+
+    static String ofVersion(long version) {
+        return "\"" + version + "\"";
+    }
+}
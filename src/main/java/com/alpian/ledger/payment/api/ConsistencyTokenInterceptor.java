@@ -0,0 +1,31 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.infrastructure.datasource.LogSequenceNumber;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadConsistency;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds the {@code Consistency-Token} request header to the handling thread so read-only
+ * transactions started for the request honour it. A malformed token is rejected with 400.
+ */
+public class ConsistencyTokenInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "Consistency-Token";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(HEADER);
+        if (token != null && !token.isBlank()) {
+            ReadConsistency.require(LogSequenceNumber.parse(token.trim()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadConsistency.clear();
+    }
+}
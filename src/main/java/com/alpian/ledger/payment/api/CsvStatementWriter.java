@@ -0,0 +1,55 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.service.dto.StatementLine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+class CsvStatementWriter extends StatementWriter {
+
+    static final String HEADER = "createdAt,paymentId,type,direction,amount,balanceAfter,counterpartyAccountId";
+
+    private final Writer writer;
+
+    CsvStatementWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write('\n');
+    }
+
+    @Override
+    protected void writeLine(StatementLine line) throws IOException {
+        writer.write(line.createdAt().toString());
+        writer.write(',');
+        writer.write(line.paymentId().toString());
+        writer.write(',');
+        writer.write(line.type().name());
+        writer.write(',');
+        writer.write(line.direction().name());
+        writer.write(',');
+        writer.write(line.amount().toString());
+        writer.write(',');
+        writer.write(line.balanceAfter().toString());
+        writer.write(',');
+        if (line.counterpartyAccountId() != null) {
+            writer.write(escape(line.counterpartyAccountId()));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
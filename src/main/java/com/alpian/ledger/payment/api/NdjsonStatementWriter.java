@@ -0,0 +1,38 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.service.dto.StatementLine;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, written through a single generator so no intermediate strings are built.
+ */
+class NdjsonStatementWriter extends StatementWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter lineWriter;
+
+    NdjsonStatementWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.lineWriter = objectMapper.writerFor(StatementLine.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected void writeLine(StatementLine line) throws IOException {
+        lineWriter.writeValue(generator, line);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -3,9 +3,16 @@ package com.alpian.ledger.payment.api;
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
 import com.alpian.ledger.payment.api.dto.PaymentHistoryResponse;
 import com.alpian.ledger.payment.api.dto.PaymentResponse;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.AccountService;
+import com.alpian.ledger.payment.service.ConsistencyTokenService;
 import com.alpian.ledger.payment.service.PaymentService;
-import io.micrometer.core.annotation.Counted;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
 import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,11 +28,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -42,6 +54,8 @@ import java.util.stream.Collectors;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final AccountService accountService;
+    private final ConsistencyTokenService consistencyTokenService;
 
     @PostMapping
     @Operation(summary = "Create a transaction", description = "Creates a transaction (DEBIT, CREDIT, or INTERNAL_TRANSFER)")
@@ -51,8 +65,6 @@ public class PaymentController {
             @ApiResponse(responseCode = "409", description = "Idempotency conflict"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    @Timed(value = "api.payment.create", description = "Time taken to process payment creation API request")
-    @Counted(value = "api.payment.create.count", description = "Number of payment creation API requests")
     public ResponseEntity<PaymentResponse> createPayment(
             @Parameter(description = "Unique idempotency key (UUID) for the request", required = true)
             @RequestHeader("Idempotency-Key") @NotNull UUID idempotencyKey,
@@ -64,13 +76,20 @@ public class PaymentController {
         Payment payment = paymentService.createPayment(request, idempotencyKey.toString());
         PaymentResponse response = buildPaymentResponse(payment);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+        consistencyTokenService.currentToken()
+                .ifPresent(token -> created.header(ConsistencyTokenInterceptor.HEADER, token));
+        return created.body(response);
     }
 
     @GetMapping("/history/{accountId}")
-    @Operation(summary = "Get payment history", description = "Retrieves paginated payment history for an account, sorted by creation date (newest first)")
+    @Operation(summary = "Get payment history", description = "Retrieves paginated payment history for an account, sorted by creation date (newest first), " +
+            "optionally filtered by type, direction, amount range, date range and counterparty. " +
+            "Pass the returned nextCursor (or an empty cursor to start) to page by keyset instead of offset. " +
+            "Responses carry the account's ETag; send it back in If-None-Match to get 304 while the history is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payment history retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "History unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     @Timed(value = "api.payment.history", description = "Time taken to process payment history API request")
@@ -80,22 +99,64 @@ public class PaymentController {
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @Parameter(description = "Page size (max 100)", example = "20")
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @Parameter(description = "Opaque keyset cursor from a previous response; takes precedence over page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Only payments of this type")
+            @RequestParam(required = false) TransactionType type,
+            @Parameter(description = "Only entries in this direction for the account (IN or OUT)")
+            @RequestParam(required = false) EntryDirection direction,
+            @Parameter(description = "Minimum amount (inclusive)", example = "10.00")
+            @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Maximum amount (inclusive)", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "First UTC day (inclusive)", example = "2026-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last UTC day (inclusive)", example = "2026-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only transfers with this other account")
+            @RequestParam(required = false) String counterparty,
+            WebRequest webRequest) {
+
+        HistoryFilter filter = new HistoryFilter(type, direction, Money.of(minAmount), Money.of(maxAmount),
+                                                 from, to, counterparty);
+
+        // Probe the version before reading the page: a write in between yields a newer page under
+        // an older tag, which only costs the client one extra full response.
+        String eTag = AccountETags.ofVersion(accountService.getVersion(accountId));
+        if (webRequest.checkNotModified(eTag)) {
+            log.debug("Payment history for account {} not modified", accountId);
+            return null;
+        }
+
+        if (cursor != null) {
+            log.info("Fetching payment history for account {} - cursor: {}, size: {}", accountId, cursor, size);
+
+            HistoryCursor historyCursor = cursor.isEmpty() ? null : HistoryCursor.decode(cursor);
+            Slice<AccountEntry> entrySlice = filter.isEmpty()
+                    ? paymentService.getPaymentHistory(accountId, historyCursor, size)
+                    : paymentService.searchPaymentHistory(accountId, filter, historyCursor, size);
+
+            List<PaymentResponse> paymentResponses = buildPaymentResponses(entrySlice);
+            return ResponseEntity.ok().eTag(eTag).body(buildHistoryResponse(entrySlice, paymentResponses));
+        }
 
         log.info("Fetching payment history for account {} - page: {}, size: {}", accountId, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Payment> paymentPage = paymentService.getPaymentHistory(accountId, pageable);
+        Page<AccountEntry> entryPage = filter.isEmpty()
+                ? paymentService.getPaymentHistory(accountId, pageable)
+                : paymentService.searchPaymentHistory(accountId, filter, pageable);
 
-        List<PaymentResponse> paymentResponses = buildPaymentResponses(paymentPage, accountId);
-        PaymentHistoryResponse response = buildHistoryResponse(paymentPage, paymentResponses);
+        List<PaymentResponse> paymentResponses = buildPaymentResponses(entryPage);
+        PaymentHistoryResponse response = buildHistoryResponse(entryPage, paymentResponses);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
-    // Private helper methods
+    // Response building; package-private so AccountController and the JMH benchmarks can share it
 
-    private PaymentResponse buildPaymentResponse(Payment payment) {
+    static PaymentResponse buildPaymentResponse(Payment payment) {
         return new PaymentResponse(
                 payment.getPaymentId(),
                 payment.getType(),
@@ -107,14 +168,14 @@ public class PaymentController {
         );
     }
 
-    private List<PaymentResponse> buildPaymentResponses(Page<Payment> paymentPage, String accountId) {
-        return paymentPage.getContent().stream()
-                .map(payment -> buildPaymentResponseWithDirection(payment, accountId))
+    static List<PaymentResponse> buildPaymentResponses(Slice<AccountEntry> entries) {
+        return entries.getContent().stream()
+                .map(PaymentController::buildPaymentResponseWithDirection)
                 .collect(Collectors.toList());
     }
 
-    private PaymentResponse buildPaymentResponseWithDirection(Payment payment, String accountId) {
-        String direction = determineDirection(payment, accountId);
+    static PaymentResponse buildPaymentResponseWithDirection(AccountEntry entry) {
+        Payment payment = entry.payment();
         return new PaymentResponse(
                 payment.getPaymentId(),
                 payment.getType(),
@@ -123,11 +184,12 @@ public class PaymentController {
                 payment.getAmount(),
                 payment.getStatus(),
                 payment.getCreatedAt(),
-                direction
+                entry.direction().name(),
+                entry.balanceAfter()
         );
     }
 
-    private PaymentHistoryResponse buildHistoryResponse(Page<Payment> paymentPage,
+    static PaymentHistoryResponse buildHistoryResponse(Page<AccountEntry> paymentPage,
                                                         List<PaymentResponse> paymentResponses) {
         return new PaymentHistoryResponse(
                 paymentResponses,
@@ -135,23 +197,29 @@ public class PaymentController {
                 paymentPage.getSize(),
                 paymentPage.getNumberOfElements(),
                 paymentPage.getTotalElements(),
-                paymentPage.getTotalPages()
+                paymentPage.getTotalPages(),
+                nextCursor(paymentPage)
         );
     }
 
-    private String determineDirection(Payment payment, String queriedAccountId) {
-        return switch (payment.getType()) {
-            case DEBIT -> "OUT";
-            case CREDIT -> "IN";
-            case INTERNAL_TRANSFER -> {
-                if (queriedAccountId.equals(payment.getFromAccountId())) {
-                    yield "OUT";
-                } else if (queriedAccountId.equals(payment.getToAccountId())) {
-                    yield "IN";
-                } else {
-                    yield null;
-                }
-            }
-        };
+    static PaymentHistoryResponse buildHistoryResponse(Slice<AccountEntry> paymentSlice,
+                                                        List<PaymentResponse> paymentResponses) {
+        return new PaymentHistoryResponse(
+                paymentResponses,
+                null,
+                paymentSlice.getSize(),
+                paymentSlice.getNumberOfElements(),
+                null,
+                null,
+                nextCursor(paymentSlice)
+        );
+    }
+
+    private static String nextCursor(Slice<AccountEntry> entries) {
+        if (!entries.hasNext() || !entries.hasContent()) {
+            return null;
+        }
+        List<AccountEntry> content = entries.getContent();
+        return HistoryCursor.of(content.get(content.size() - 1).payment()).encode();
     }
 }
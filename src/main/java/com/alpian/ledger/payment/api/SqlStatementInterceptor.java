@@ -0,0 +1,65 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.infrastructure.metrics.SqlStatementScope;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the JDBC statements and round trips each request executes on its handling thread, tagged
+ * by method and URI template. Work handed to another thread, such as a streamed statement body, is
+ * not included.
+ */
+public class SqlStatementInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE = SqlStatementInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(SCOPE, SqlStatementScope.open());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The request thread is released; the async dispatch that completes it opens a new scope
+        if (request.getAttribute(SCOPE) instanceof SqlStatementScope scope) {
+            scope.close();
+            request.removeAttribute(SCOPE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(SCOPE) instanceof SqlStatementScope scope)) {
+            return;
+        }
+        scope.close();
+        request.removeAttribute(SCOPE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        summary("jdbc.request.statements", "JDBC statements per HTTP request", request.getMethod(), uri)
+                .record(scope.statements());
+        summary("jdbc.request.round.trips", "JDBC round trips per HTTP request", request.getMethod(), uri)
+                .record(scope.roundTrips());
+    }
+
+    private DistributionSummary summary(String metric, String description, String method, String uri) {
+        return DistributionSummary.builder(metric)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
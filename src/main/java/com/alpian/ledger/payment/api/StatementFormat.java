@@ -0,0 +1,51 @@
+package com.alpian.ledger.payment.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+enum StatementFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson") {
+        @Override
+        StatementWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonStatementWriter(out, objectMapper);
+        }
+    },
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv") {
+        @Override
+        StatementWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new CsvStatementWriter(out);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    StatementFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    static StatementFormat parse(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported statement format: " + format + " (expected ndjson or csv)");
+        }
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    abstract StatementWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+}
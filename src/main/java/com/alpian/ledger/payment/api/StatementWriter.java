@@ -0,0 +1,39 @@
+package com.alpian.ledger.payment.api;
+
+import com.alpian.ledger.payment.service.dto.StatementLine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes statement lines to a response stream one at a time. The first line is flushed right away
+ * so the client sees bytes before the export finishes; after that the output buffers decide.
+ */
+abstract class StatementWriter implements AutoCloseable {
+
+    private boolean firstLineFlushed;
+
+    final void write(StatementLine line) {
+        try {
+            writeLine(line);
+            if (!firstLineFlushed) {
+                flush();
+                firstLineFlushed = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write statement line", e);
+        }
+    }
+
+    protected abstract void writeLine(StatementLine line) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    /**
+     * Flushes buffered output; the underlying response stream is left open for the container.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
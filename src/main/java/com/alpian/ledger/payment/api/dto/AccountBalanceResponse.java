@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.api.dto;
+
+import com.alpian.ledger.payment.domain.Money;
+
+import java.time.Instant;
+
+public record AccountBalanceResponse(
+        String accountId,
+        Money balance,
+        Instant asOf
+) {}
@@ -0,0 +1,7 @@
+package com.alpian.ledger.payment.api.dto;
+
+import java.util.List;
+
+public record AccountBatchResponse(
+        List<AccountLookupResponse> accounts
+) {}
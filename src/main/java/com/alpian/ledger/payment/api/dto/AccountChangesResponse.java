@@ -0,0 +1,16 @@
+package com.alpian.ledger.payment.api.dto;
+
+import java.util.List;
+
+/**
+ * Incremental sync batch for an account, oldest entry first. Clients store {@code nextSince} and
+ * send it as {@code since} on the next request; when {@code hasMore} is true they can ask again
+ * straight away.
+ */
+public record AccountChangesResponse(
+        String accountId,
+        long since,
+        long nextSince,
+        boolean hasMore,
+        List<PaymentResponse> payments
+) {}
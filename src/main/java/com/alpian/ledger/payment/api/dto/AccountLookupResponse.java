@@ -0,0 +1,20 @@
+package com.alpian.ledger.payment.api.dto;
+
+import com.alpian.ledger.payment.domain.Money;
+
+/**
+ * One item of a batch account lookup: either the balance or, for an unknown account, an error code
+ */
+public record AccountLookupResponse(
+        String accountId,
+        Money balance,
+        String error
+) {
+    public static AccountLookupResponse found(String accountId, Money balance) {
+        return new AccountLookupResponse(accountId, balance, null);
+    }
+
+    public static AccountLookupResponse notFound(String accountId) {
+        return new AccountLookupResponse(accountId, null, "ACCOUNT_NOT_FOUND");
+    }
+}
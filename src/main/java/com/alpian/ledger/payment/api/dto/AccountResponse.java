@@ -1,8 +1,8 @@
 package com.alpian.ledger.payment.api.dto;
 
-import java.math.BigDecimal;
+import com.alpian.ledger.payment.domain.Money;
 
 public record AccountResponse(
         String accountId,
-        BigDecimal balance
+        Money balance
 ) {}
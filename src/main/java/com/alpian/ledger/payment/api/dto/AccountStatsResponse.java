@@ -0,0 +1,14 @@
+package com.alpian.ledger.payment.api.dto;
+
+import com.alpian.ledger.payment.service.dto.ActivityGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AccountStatsResponse(
+        String accountId,
+        ActivityGranularity granularity,
+        LocalDate from,
+        LocalDate to,
+        List<ActivityPeriodResponse> periods
+) {}
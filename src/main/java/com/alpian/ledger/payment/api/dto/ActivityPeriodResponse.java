@@ -0,0 +1,13 @@
+package com.alpian.ledger.payment.api.dto;
+
+import com.alpian.ledger.payment.domain.Money;
+
+import java.time.LocalDate;
+
+public record ActivityPeriodResponse(
+        LocalDate period,
+        Money inflow,
+        Money outflow,
+        long inflowCount,
+        long outflowCount
+) {}
@@ -1,11 +1,9 @@
 package com.alpian.ledger.payment.api.dto;
 
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.TransactionType;
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
-
-import java.math.BigDecimal;
 
 public record CreatePaymentRequest(
         @NotNull(message = "Transaction type is required")
@@ -16,9 +14,16 @@ public record CreatePaymentRequest(
         String toAccountId,
 
         @NotNull(message = "Amount is required")
-        @Positive(message = "Amount must be positive")
-        BigDecimal amount
+        Money amount
 ) {
+    /**
+     * Bean Validation has no built-in constraint for {@link Money}, so positivity is checked here
+     */
+    @AssertTrue(message = "Amount must be positive")
+    public boolean isPositiveAmount() {
+        return amount == null || amount.isPositive();
+    }
+
     /**
      * Custom validation ensuring account IDs match the transaction type requirements
      */
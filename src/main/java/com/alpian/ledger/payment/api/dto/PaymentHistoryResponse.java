@@ -2,12 +2,17 @@ package com.alpian.ledger.payment.api.dto;
 
 import java.util.List;
 
+/**
+ * One page of payment history. {@code page}, {@code totalElements} and {@code totalPages} are only
+ * populated for offset paging; keyset requests skip the count query and return them as null.
+ * {@code nextCursor} is null on the last page.
+ */
 public record PaymentHistoryResponse(
         List<PaymentResponse> payments,
-        int page,
+        Integer page,
         int size,
         int numberOfElements,
-        long totalElements,
-        int totalPages
+        Long totalElements,
+        Integer totalPages,
+        String nextCursor
 ) {}
-
@@ -1,23 +1,25 @@
 package com.alpian.ledger.payment.api.dto;
 
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 public record PaymentResponse(
-        String paymentId,
+        UUID paymentId,
         TransactionType type,
         String fromAccountId,
         String toAccountId,
-        BigDecimal amount,
+        Money amount,
         PaymentStatus status,
         Instant createdAt,
-        String direction  // "OUT", "IN", or null for non-history queries
+        String direction,  // "OUT", "IN", or null for non-history queries
+        Money balanceAfter  // queried account's balance after this payment, or null for non-history queries
 ) {
-    public PaymentResponse(String paymentId, TransactionType type, String fromAccountId,
-                           String toAccountId, BigDecimal amount, PaymentStatus status, Instant createdAt) {
-        this(paymentId, type, fromAccountId, toAccountId, amount, status, createdAt, null);
+    public PaymentResponse(UUID paymentId, TransactionType type, String fromAccountId,
+                           String toAccountId, Money amount, PaymentStatus status, Instant createdAt) {
+        this(paymentId, type, fromAccountId, toAccountId, amount, status, createdAt, null, null);
     }
 }
@@ -0,0 +1,15 @@
+package com.alpian.ledger.payment.config;
+
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
+import com.alpian.ledger.payment.infrastructure.id.UuidV7Generator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
+    }
+}
@@ -3,7 +3,10 @@ package com.alpian.ledger.payment.config;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerPostProcessor;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
 
 @Configuration
 public class KafkaConfig {
@@ -15,4 +18,14 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    /**
+     * For listeners that only need events from the moment they start: with manual acknowledgment
+     * and no {@code Acknowledgment} parameter the container never commits an offset, so the
+     * consumer group holds nothing once its single member leaves.
+     */
+    @Bean
+    public ContainerPostProcessor<Object, Object, AbstractMessageListenerContainer<Object, Object>> uncommittedOffsets() {
+        return container -> container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+    }
 }
@@ -0,0 +1,78 @@
+package com.alpian.ledger.payment.config;
+
+import com.alpian.ledger.payment.infrastructure.datasource.ReadReplicaRoutingDataSource;
+import com.alpian.ledger.payment.infrastructure.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured DataSource with a primary/replica pair when
+ * {@code ledger.read-replica.enabled} is set. Flyway, db-scheduler and all read-write transactions
+ * keep using the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username}") String username,
+                                              @Value("${spring.datasource.password}") String password) {
+        return pool("primary", url, username, password);
+    }
+
+    @Bean
+    @ConfigurationProperties("ledger.read-replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${ledger.read-replica.url}") String url,
+            @Value("${ledger.read-replica.username:${spring.datasource.username}}") String username,
+            @Value("${ledger.read-replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource replica = pool("replica", url, username, password);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${ledger.read-replica.max-lag:2s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        // Known pool defaults, so the proxy never opens a connection just to look them up
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(new ReadReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
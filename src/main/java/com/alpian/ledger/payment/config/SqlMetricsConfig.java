@@ -0,0 +1,40 @@
+package com.alpian.ledger.payment.config;
+
+import com.alpian.ledger.payment.infrastructure.metrics.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy that reports every statement to
+ * {@link SqlStatementListener}. Only the bean named {@code dataSource} is wrapped: with read
+ * replicas enabled that is the routing DataSource, so a statement is seen once whichever pool
+ * serves it.
+ */
+@Configuration
+public class SqlMetricsConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE)
+                        .listener(listener.getObject())
+                        .build();
+            }
+        };
+    }
+}
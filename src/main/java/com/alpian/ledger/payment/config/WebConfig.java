@@ -0,0 +1,24 @@
+package com.alpian.ledger.payment.config;
+
+import com.alpian.ledger.payment.api.ConsistencyTokenInterceptor;
+import com.alpian.ledger.payment.api.SqlStatementInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConsistencyTokenInterceptor());
+        // Web slice tests may run without a MeterRegistry
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(new SqlStatementInterceptor(meters)));
+    }
+}
@@ -1,6 +1,4 @@
 package com.alpian.ledger.payment.domain;
 
-import java.math.BigDecimal;
-
-public record Account(String accountId, BigDecimal balance) {
+public record Account(String accountId, Money balance, long version) {
 }
@@ -0,0 +1,17 @@
+package com.alpian.ledger.payment.domain;
+
+/**
+ * One side of a payment as recorded in a single account's ledger:
+ * DEBIT and CREDIT produce one entry, INTERNAL_TRANSFER produces one per account.
+ * {@code balanceAfter} is the account balance immediately after this payment was applied.
+ */
+public record AccountEntry(String accountId, EntryDirection direction, Payment payment, Money balanceAfter) {
+
+    public static AccountEntry out(Payment payment, Money balanceAfter) {
+        return new AccountEntry(payment.getFromAccountId(), EntryDirection.OUT, payment, balanceAfter);
+    }
+
+    public static AccountEntry in(Payment payment, Money balanceAfter) {
+        return new AccountEntry(payment.getToAccountId(), EntryDirection.IN, payment, balanceAfter);
+    }
+}
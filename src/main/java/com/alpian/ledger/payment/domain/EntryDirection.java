@@ -0,0 +1,6 @@
+package com.alpian.ledger.payment.domain;
+
+public enum EntryDirection {
+    IN,
+    OUT
+}
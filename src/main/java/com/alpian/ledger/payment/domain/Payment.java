@@ -2,34 +2,45 @@ package com.alpian.ledger.payment.domain;
 
 import lombok.Getter;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Getter
 public class Payment {
-    private final String paymentId;
+    private final UUID paymentId;
     private final TransactionType type;
     private final String fromAccountId;
     private final String toAccountId;
-    private final BigDecimal amount;
+    private final Money amount;
     private PaymentStatus status;
     private final String idempotencyKey;
     private final Instant createdAt;
 
-    public Payment(String paymentId, TransactionType type, String fromAccountId,
-                   String toAccountId, BigDecimal amount, String idempotencyKey, Instant createdAt) {
+    public Payment(UUID paymentId, TransactionType type, String fromAccountId,
+                   String toAccountId, Money amount, String idempotencyKey, Instant createdAt) {
+        this(paymentId, type, fromAccountId, toAccountId, amount, PaymentStatus.CREATED, idempotencyKey, createdAt);
+    }
+
+    /**
+     * A stored payment in the status it was recorded with, for reads that must not replay its transitions.
+     */
+    public Payment(UUID paymentId, TransactionType type, String fromAccountId, String toAccountId,
+                   Money amount, PaymentStatus status, String idempotencyKey, Instant createdAt) {
         this.paymentId = paymentId;
         this.type = type;
         this.fromAccountId = fromAccountId;
         this.toAccountId = toAccountId;
         this.amount = amount;
         this.idempotencyKey = idempotencyKey;
-        this.status = PaymentStatus.CREATED;
-        this.createdAt = createdAt;}
+        this.status = status;
+        this.createdAt = createdAt;
+    }
 
-    public Payment(String paymentId, TransactionType type, String fromAccountId,
-                   String toAccountId, BigDecimal amount, String idempotencyKey) {
-        this(paymentId, type, fromAccountId, toAccountId, amount, idempotencyKey, Instant.now());
+    public Payment(UUID paymentId, TransactionType type, String fromAccountId,
+                   String toAccountId, Money amount, String idempotencyKey) {
+        // Postgres keeps microseconds; truncating keeps the in-memory value identical to the stored one
+        this(paymentId, type, fromAccountId, toAccountId, amount, idempotencyKey, Instant.now().truncatedTo(ChronoUnit.MICROS));
     }
 
     public void complete() {
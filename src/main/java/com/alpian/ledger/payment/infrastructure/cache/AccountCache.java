@@ -0,0 +1,171 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.domain.Account;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache of {@link Account} snapshots.
+ * <p>
+ * Entries are dropped after the committing transaction via {@link AccountCacheInvalidator}; the
+ * write TTL only bounds staleness when a cross-node invalidation is lost. Single loads go through
+ * {@link Cache#get}, so an invalidation racing an in-flight load waits for it and then removes
+ * the value instead of being overwritten by it. Bulk loads are not atomic per key, so every
+ * invalidation also bumps a per-key epoch, and a bulk-loaded account is only cached if no
+ * invalidation of its id started after the load did.
+ */
+@Component
+@Slf4j
+public class AccountCache {
+
+    static final String CACHE_NAME = "accounts";
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final Cache<String, CachedAccount> cache;
+    private final Timer entryAge;
+    private final Counter commitInvalidations;
+    private final Counter remoteInvalidations;
+    private final Timer remoteInvalidationLag;
+    private final AtomicLongArray invalidationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    public AccountCache(@Value("${ledger.account-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${ledger.account-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        this.entryAge = Timer.builder("account.cache.entry.age")
+                .description("Age of the account snapshot served by the cache")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.commitInvalidations = invalidationCounter(meterRegistry, "commit");
+        this.remoteInvalidations = invalidationCounter(meterRegistry, "kafka");
+        this.remoteInvalidationLag = Timer.builder("account.cache.invalidation.lag")
+                .description("Delay between a balance change and its invalidation arriving from another node")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public Account get(String accountId, Function<String, Account> loader) {
+        CachedAccount cached = cache.get(accountId, id -> new CachedAccount(loader.apply(id), System.nanoTime()));
+        entryAge.record(System.nanoTime() - cached.loadedAtNanos(), TimeUnit.NANOSECONDS);
+        return cached.account();
+    }
+
+    /**
+     * Bulk variant of {@link #get}: hits are served from memory and all misses go to
+     * {@code loader} in a single call. Ids the loader does not return are absent from the
+     * result and are not cached. A loaded account is returned but not cached when its id was
+     * invalidated while the load ran, since the load may have read the balance from before the
+     * change; when a concurrent load cached it first, the entry with the higher version wins.
+     */
+    public Map<String, Account> getAll(Collection<String> accountIds,
+                                       Function<Set<? extends String>, Map<String, Account>> loader) {
+        Map<String, CachedAccount> cached = cache.getAllPresent(accountIds);
+        Map<String, Account> accounts = new HashMap<>(accountIds.size());
+        long now = System.nanoTime();
+        cached.forEach((id, entry) -> {
+            entryAge.record(now - entry.loadedAtNanos(), TimeUnit.NANOSECONDS);
+            accounts.put(id, entry.account());
+        });
+
+        Set<String> misses = new HashSet<>(accountIds);
+        misses.removeAll(cached.keySet());
+        if (misses.isEmpty()) {
+            return accounts;
+        }
+        Map<String, Long> epochs = new HashMap<>(misses.size());
+        misses.forEach(id -> epochs.put(id, invalidationEpochs.get(stripe(id))));
+        long loadedAtNanos = System.nanoTime();
+        loader.apply(Collections.unmodifiableSet(misses)).forEach((id, account) -> {
+            if (!epochs.containsKey(id)) {
+                return;
+            }
+            CachedAccount loaded = new CachedAccount(account, loadedAtNanos);
+            CachedAccount current = cache.asMap().compute(id, (key, existing) -> {
+                if (existing != null) {
+                    return existing.account().version() >= account.version() ? existing : loaded;
+                }
+                return invalidationEpochs.get(stripe(key)) == epochs.get(key) ? loaded : null;
+            });
+            CachedAccount served = current == null ? loaded : current;
+            entryAge.record(System.nanoTime() - served.loadedAtNanos(), TimeUnit.NANOSECONDS);
+            accounts.put(id, served.account());
+        });
+        return accounts;
+    }
+
+    /**
+     * Drops the entry after a balance change committed by this node.
+     */
+    public void invalidate(String accountId) {
+        invalidationEpochs.incrementAndGet(stripe(accountId));
+        cache.invalidate(accountId);
+        commitInvalidations.increment();
+    }
+
+    /**
+     * Drops the entry for a balance change announced by any node on {@code payment-events};
+     * {@code changedAt} is when the change was made and feeds the invalidation lag timer.
+     */
+    public void invalidateRemote(String accountId, Instant changedAt) {
+        invalidationEpochs.incrementAndGet(stripe(accountId));
+        cache.invalidate(accountId);
+        remoteInvalidations.increment();
+        if (changedAt != null) {
+            Duration lag = Duration.between(changedAt, Instant.now());
+            if (!lag.isNegative()) {
+                remoteInvalidationLag.record(lag);
+            }
+        }
+        log.debug("Account {} invalidated from payment-events", accountId);
+    }
+
+    /**
+     * Drops every entry, for balances changed outside the payment flow (e.g. bulk corrections).
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            invalidationEpochs.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private static int stripe(String accountId) {
+        return (accountId.hashCode() & Integer.MAX_VALUE) % EPOCH_STRIPES;
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("account.cache.invalidations")
+                .description("Number of account cache invalidations")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record CachedAccount(Account account, long loadedAtNanos) {
+    }
+}
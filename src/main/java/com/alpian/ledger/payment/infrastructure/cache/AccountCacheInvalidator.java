@@ -0,0 +1,69 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import com.alpian.ledger.payment.service.dto.PaymentCompletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link AccountCache} and {@link PaymentHistoryCache} in line with committed payments.
+ * <p>
+ * Local changes are applied right after the payment transaction commits: account snapshots are
+ * invalidated and the new entries are inserted into cached history. Changes made by other nodes
+ * arrive through {@code payment-events}; every node consumes the topic in its own consumer group so
+ * each one sees every event. The group name ends in a random id per process, so two instances never
+ * share a group, and the listener commits no offsets, so the group a stopped process leaves behind
+ * holds nothing and is dropped by the broker. A node also receives its own events back, which costs
+ * one extra account cache miss; history snapshots that already hold the payment are kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountCacheInvalidator {
+
+    private final AccountCache accountCache;
+    private final PaymentHistoryCache historyCache;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBalancesChanged(AccountBalancesChangedEvent event) {
+        event.entries().forEach(entry -> {
+            accountCache.invalidate(entry.accountId());
+            historyCache.insert(entry);
+        });
+    }
+
+    @KafkaListener(
+            topics = "payment-events",
+            groupId = "${spring.application.name}-account-cache-${random.uuid}",
+            autoStartup = "${ledger.account-cache.remote-invalidation.enabled:true}",
+            containerPostProcessor = "uncommittedOffsets",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=false"}
+    )
+    public void onPaymentEvent(String payload) {
+        PaymentCompletedEvent event;
+        try {
+            event = objectMapper.readValue(payload, PaymentCompletedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable payment event for cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (event.getFromAccountId() != null) {
+            invalidateRemote(event.getFromAccountId(), event);
+        }
+        if (event.getToAccountId() != null) {
+            invalidateRemote(event.getToAccountId(), event);
+        }
+    }
+
+    private void invalidateRemote(String accountId, PaymentCompletedEvent event) {
+        accountCache.invalidateRemote(accountId, event.getTimestamp());
+        historyCache.evictUnlessPresent(accountId, event.getPaymentId());
+    }
+}
@@ -0,0 +1,175 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Per-account cache of the newest {@link #depth()} history entries, backing the first page of
+ * payment history. Committed payments are inserted into a cached snapshot in place rather than
+ * evicting it, so an active account keeps being served from memory.
+ * <p>
+ * Loads go through {@link Cache#get} and inserts through {@code computeIfPresent}, so an insert
+ * racing an in-flight load waits for it; inserts are deduplicated by payment id in case the load
+ * already saw the committed row.
+ * <p>
+ * A snapshot expires when it has not been read for {@code expire-after-access}, and at the latest
+ * {@code expire-after-write} after it was loaded from the database. In-place inserts do not extend
+ * the second deadline, so a snapshot that missed a remote eviction is reloaded even while the
+ * account is polled and written on this node.
+ */
+@Component
+public class PaymentHistoryCache {
+
+    static final String CACHE_NAME = "payment-history";
+
+    /** Same order as the history queries: newest first, payment id as tie-breaker. */
+    private static final Comparator<AccountEntry> NEWEST_FIRST = Comparator
+            .comparing((AccountEntry entry) -> entry.payment().getCreatedAt())
+            .thenComparing(entry -> entry.payment().getPaymentId(), PaymentHistoryCache::compareUnsigned)
+            .reversed();
+
+    private final int depth;
+    private final Cache<String, CachedSnapshot> cache;
+    private final Ticker ticker;
+
+    @Autowired
+    public PaymentHistoryCache(@Value("${ledger.history-cache.depth:50}") int depth,
+                               @Value("${ledger.history-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${ledger.history-cache.expire-after-access:10m}") Duration expireAfterAccess,
+                               @Value("${ledger.history-cache.expire-after-write:1m}") Duration expireAfterWrite,
+                               MeterRegistry meterRegistry) {
+        this(depth, maximumSize, expireAfterAccess, expireAfterWrite, meterRegistry, Ticker.systemTicker());
+    }
+
+    PaymentHistoryCache(int depth, long maximumSize, Duration expireAfterAccess, Duration expireAfterWrite,
+                        MeterRegistry meterRegistry, Ticker ticker) {
+        this.depth = depth;
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new SnapshotExpiry(expireAfterAccess.toNanos(), expireAfterWrite.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Number of newest entries kept per account; pages larger than this are not served from cache.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    public Snapshot get(String accountId, Function<String, Snapshot> loader) {
+        return cache.get(accountId, id -> new CachedSnapshot(loader.apply(id), ticker.read())).snapshot();
+    }
+
+    /**
+     * Inserts a committed entry into its account's snapshot, if one is cached.
+     */
+    public void insert(AccountEntry entry) {
+        cache.asMap().computeIfPresent(entry.accountId(), (accountId, cached) -> cached.with(entry, depth));
+    }
+
+    /**
+     * Drops the account's snapshot unless it already holds the payment, i.e. unless the change was
+     * committed by this node and inserted already.
+     */
+    public void evictUnlessPresent(String accountId, UUID paymentId) {
+        cache.asMap().computeIfPresent(accountId,
+                (id, cached) -> cached.snapshot().contains(paymentId) ? cached : null);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    private record CachedSnapshot(Snapshot snapshot, long loadedAtNanos) {
+
+        CachedSnapshot with(AccountEntry entry, int depth) {
+            Snapshot updated = snapshot.with(entry, depth);
+            return updated == snapshot ? this : new CachedSnapshot(updated, loadedAtNanos);
+        }
+    }
+
+    /**
+     * Idle expiry capped by a deadline fixed when the snapshot was loaded.
+     */
+    private record SnapshotExpiry(long afterAccessNanos, long afterWriteNanos) implements Expiry<String, CachedSnapshot> {
+
+        @Override
+        public long expireAfterCreate(String accountId, CachedSnapshot cached, long currentTime) {
+            return remaining(cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String accountId, CachedSnapshot cached, long currentTime,
+                                      long currentDuration) {
+            return remaining(cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String accountId, CachedSnapshot cached, long currentTime,
+                                    long currentDuration) {
+            return remaining(cached, currentTime);
+        }
+
+        private long remaining(CachedSnapshot cached, long currentTime) {
+            long untilDeadline = cached.loadedAtNanos() + afterWriteNanos - currentTime;
+            return Math.max(0, Math.min(afterAccessNanos, untilDeadline));
+        }
+    }
+
+    /**
+     * Newest entries of an account, newest first, plus the account's total entry count.
+     */
+    public record Snapshot(List<AccountEntry> newest, long totalEntries) {
+
+        public Snapshot {
+            newest = List.copyOf(newest);
+        }
+
+        boolean contains(UUID paymentId) {
+            return newest.stream().anyMatch(entry -> entry.payment().getPaymentId().equals(paymentId));
+        }
+
+        Snapshot with(AccountEntry entry, int depth) {
+            if (contains(entry.payment().getPaymentId())) {
+                return this;
+            }
+            List<AccountEntry> updated = new ArrayList<>(newest.size() + 1);
+            updated.addAll(newest);
+            int position = 0;
+            while (position < updated.size() && NEWEST_FIRST.compare(updated.get(position), entry) < 0) {
+                position++;
+            }
+            updated.add(position, entry);
+            if (updated.size() > depth) {
+                updated.removeLast();
+            }
+            return new Snapshot(updated, totalEntries + 1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+/**
+ * PostgreSQL WAL position ({@code pg_lsn}), e.g. {@code 16/B374D848}.
+ * Used as the consistency token that gives clients read-your-writes against a replica.
+ */
+public record LogSequenceNumber(long value) implements Comparable<LogSequenceNumber> {
+
+    public static LogSequenceNumber parse(String lsn) {
+        int separator = lsn == null ? -1 : lsn.indexOf('/');
+        if (separator <= 0 || separator == lsn.length() - 1) {
+            throw new IllegalArgumentException("Invalid consistency token: " + lsn);
+        }
+        try {
+            long high = Long.parseLong(lsn.substring(0, separator), 16);
+            long low = Long.parseLong(lsn.substring(separator + 1), 16);
+            if (high > 0xFFFFFFFFL || low > 0xFFFFFFFFL) {
+                throw new IllegalArgumentException("Invalid consistency token: " + lsn);
+            }
+            return new LogSequenceNumber(high << 32 | low);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid consistency token: " + lsn, e);
+        }
+    }
+
+    public boolean isAtLeast(LogSequenceNumber other) {
+        return compareTo(other) >= 0;
+    }
+
+    @Override
+    public int compareTo(LogSequenceNumber other) {
+        return Long.compareUnsigned(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(value >>> 32).toUpperCase() + "/" + Long.toHexString(value & 0xFFFFFFFFL).toUpperCase();
+    }
+}
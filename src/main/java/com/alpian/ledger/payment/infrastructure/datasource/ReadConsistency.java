@@ -0,0 +1,57 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread read requirements consulted by {@link ReadReplicaRoutingDataSource} when a read-only
+ * transaction picks its connection.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<LogSequenceNumber> REQUIRED_LSN = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Reads on this thread must observe at least the given WAL position (read-your-writes).
+     */
+    public static void require(LogSequenceNumber lsn) {
+        REQUIRED_LSN.set(lsn);
+    }
+
+    public static LogSequenceNumber requiredLsn() {
+        return REQUIRED_LSN.get();
+    }
+
+    public static boolean hasRequirement() {
+        return REQUIRED_LSN.get() != null;
+    }
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    /**
+     * Runs {@code action} with every read-only transaction it starts routed to the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    public static void clear() {
+        REQUIRED_LSN.remove();
+        PRIMARY_ONLY.remove();
+    }
+}
@@ -0,0 +1,27 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-only transactions for services that are not transactional themselves, so that cache hits
+ * never borrow a connection. Only a read-only transaction may be routed to the replica by
+ * {@link ReadReplicaRoutingDataSource}; repository queries run outside one always use the primary.
+ */
+@Component
+public class ReadOnlyTransactions {
+
+    private final TransactionTemplate readOnly;
+
+    public ReadOnlyTransactions(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public <T> T execute(Supplier<T> read) {
+        return readOnly.execute(status -> read.get());
+    }
+}
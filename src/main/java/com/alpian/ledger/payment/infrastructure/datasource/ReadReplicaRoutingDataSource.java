@@ -0,0 +1,55 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica while it is usable and everything else to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before it marks the transaction read-only, so the
+ * target is only chosen once the first statement runs.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                        MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReads = readCounter(meterRegistry, Target.PRIMARY);
+        this.replicaReads = readCounter(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (ReadConsistency.isPrimaryOnly() || !lagMonitor.isUsable(ReadConsistency.requiredLsn())) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("datasource.read.routing")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
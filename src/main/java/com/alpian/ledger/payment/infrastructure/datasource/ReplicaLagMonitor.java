@@ -0,0 +1,70 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica for its replay position and lag. Each node polls on its own, so routing
+ * decisions never wait on a query; a failed poll marks the replica unusable until the next one.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // A standby that has replayed everything it received is caught up even if the primary is idle
+    private static final String STATUS_QUERY = """
+            SELECT pg_last_wal_replay_lsn()::text AS replay_lsn,
+                   CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END AS lag_seconds
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private volatile ReplicaStatus status = ReplicaStatus.UNREACHABLE;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.status.lagSeconds())
+                .description("Replay lag of the read replica in seconds (NaN when unreachable)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.read-replica.lag-poll-interval:1s}")
+    public void refresh() {
+        try {
+            status = replicaJdbcTemplate.queryForObject(STATUS_QUERY, (rs, rowNum) -> new ReplicaStatus(
+                    true,
+                    rs.getString("replay_lsn") == null ? null : LogSequenceNumber.parse(rs.getString("replay_lsn")),
+                    rs.getDouble("lag_seconds")));
+        } catch (Exception e) {
+            if (status.reachable()) {
+                log.warn("Read replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+            status = ReplicaStatus.UNREACHABLE;
+        }
+    }
+
+    /**
+     * Whether a read may go to the replica: it must be reachable, within the lag threshold and, when
+     * {@code requiredLsn} is given, known to have replayed at least that position.
+     */
+    public boolean isUsable(LogSequenceNumber requiredLsn) {
+        ReplicaStatus current = status;
+        if (!current.reachable() || current.lagSeconds() * 1000 > maxLag.toMillis()) {
+            return false;
+        }
+        return requiredLsn == null || (current.replayLsn() != null && current.replayLsn().isAtLeast(requiredLsn));
+    }
+
+    private record ReplicaStatus(boolean reachable, LogSequenceNumber replayLsn, double lagSeconds) {
+        static final ReplicaStatus UNREACHABLE = new ReplicaStatus(false, null, Double.NaN);
+    }
+}
@@ -0,0 +1,13 @@
+package com.alpian.ledger.payment.infrastructure.id;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for payments and outbox events.
+ * Defined as a bean in {@code IdGeneratorConfig}; swap it to plug in a different scheme.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID newId();
+}
@@ -0,0 +1,18 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.BalanceUpdate")
+@Label("Balance Update")
+@Description("Balance UPDATE on account rows already locked by the transaction")
+public class BalanceUpdateEvent extends PaymentStageEvent {
+
+    @Label("Statement")
+    String statement;
+
+    public BalanceUpdateEvent(String statement) {
+        this.statement = statement;
+    }
+}
@@ -0,0 +1,94 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code GET /actuator/flightrecorderdump}: the continuous recording so far as a {@code .jfr} file for
+ * JDK Mission Control or {@code jfr print}, or 404 when no recording is running.
+ */
+@Component
+@WebEndpoint(id = "flightrecorderdump")
+@RequiredArgsConstructor
+public class FlightRecorderDumpEndpoint {
+
+    private final PaymentFlightRecorder recorder;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        return recorder.dump()
+                .map(file -> new WebEndpointResponse<Resource>(new TemporaryFileResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * Deletes the dump once the response has been written. Not reported as a file so the response is
+     * streamed through {@link #getInputStream()} rather than transferred from the path directly.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path path;
+
+        TemporaryFileResource(Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            ReadableByteChannel channel = super.readableChannel();
+            return new ReadableByteChannel() {
+                @Override
+                public int read(ByteBuffer dst) throws IOException {
+                    return channel.read(dst);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return channel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        channel.close();
+                    } finally {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            };
+        }
+    }
+}
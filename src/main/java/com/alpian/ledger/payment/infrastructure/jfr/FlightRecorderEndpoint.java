@@ -0,0 +1,35 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/flightrecorder}: {@code GET} reports the continuous recording, {@code POST}
+ * starts it and {@code DELETE} stops it. The data is downloaded from {@link FlightRecorderDumpEndpoint}.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final PaymentFlightRecorder recorder;
+
+    @ReadOperation
+    public PaymentFlightRecorder.RecordingStatus status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public PaymentFlightRecorder.RecordingStatus start() {
+        return recorder.start();
+    }
+
+    @DeleteOperation
+    public PaymentFlightRecorder.RecordingStatus stop() {
+        return recorder.stop();
+    }
+}
@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.IdempotencyCheck")
+@Label("Idempotency Check")
+@Description("Lookup of the idempotency key before a payment executes")
+public class IdempotencyCheckEvent extends PaymentStageEvent {
+}
@@ -0,0 +1,18 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.LockAcquisition")
+@Label("Account Lock Acquisition")
+@Description("Statement that takes account row locks; for DEBIT and CREDIT the conditional UPDATE that also moves the balance")
+public class LockAcquisitionEvent extends PaymentStageEvent {
+
+    @Label("Statement")
+    String statement;
+
+    public LockAcquisitionEvent(String statement) {
+        this.statement = statement;
+    }
+}
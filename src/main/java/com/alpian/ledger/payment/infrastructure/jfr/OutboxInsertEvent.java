@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.OutboxInsert")
+@Label("Outbox Insert")
+@Description("INSERT of the payment event into the outbox, flushed at commit")
+public class OutboxInsertEvent extends PaymentStageEvent {
+}
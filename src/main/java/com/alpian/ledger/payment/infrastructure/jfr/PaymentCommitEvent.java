@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.PaymentCommit")
+@Label("Payment Commit")
+@Description("Commit of the payment transaction: before-commit listeners, Hibernate flush and COMMIT")
+public class PaymentCommitEvent extends PaymentStageEvent {
+}
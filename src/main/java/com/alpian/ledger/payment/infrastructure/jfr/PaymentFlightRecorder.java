@@ -0,0 +1,175 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the continuous Flight Recorder recording behind the {@code flightrecorder} actuator endpoints.
+ * It records the JDK's {@code ledger.flight-recorder.settings} configuration ({@code default} is
+ * designed for always-on use) plus the {@link PaymentStageEvent}s that take at least
+ * {@code ledger.flight-recorder.stage-threshold}, and keeps the last {@code max-age}/{@code max-size}
+ * of data on disk. Environment variables, system properties and JVM arguments are never recorded.
+ */
+@Component
+@Slf4j
+public class PaymentFlightRecorder implements DisposableBean {
+
+    static final String RECORDING_NAME = "ledger-continuous";
+
+    private static final List<Class<? extends Event>> STAGE_EVENTS = List.of(
+            IdempotencyCheckEvent.class, StrategyExecutionEvent.class, LockAcquisitionEvent.class,
+            BalanceUpdateEvent.class, PaymentInsertEvent.class, OutboxInsertEvent.class, PaymentCommitEvent.class);
+
+    // Enabled by the JDK settings files, but they carry the DB and Kafka credentials into every dump
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration stageThreshold;
+    private final boolean startOnStartup;
+    // Not synchronized: a monitor held while the recording starts would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public PaymentFlightRecorder(@Value("${ledger.flight-recorder.settings:default}") String settings,
+                                 @Value("${ledger.flight-recorder.max-age:30m}") Duration maxAge,
+                                 @Value("${ledger.flight-recorder.max-size:250MB}") DataSize maxSize,
+                                 @Value("${ledger.flight-recorder.stage-threshold:1ms}") Duration stageThreshold,
+                                 @Value("${ledger.flight-recorder.start-on-startup:false}") boolean startOnStartup) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.stageThreshold = stageThreshold;
+        this.startOnStartup = startOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (startOnStartup) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the recording unless it is already running.
+     */
+    public RecordingStatus start() {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                Recording started = new Recording(configuration());
+                started.setName(RECORDING_NAME);
+                started.setToDisk(true);
+                started.setMaxAge(maxAge);
+                started.setMaxSize(maxSize.toBytes());
+                STAGE_EVENTS.forEach(type -> started.enable(type).withThreshold(stageThreshold));
+                SENSITIVE_EVENTS.forEach(started::disable);
+                started.start();
+                recording = started;
+                log.info("Started continuous flight recording with '{}' settings", settings);
+            }
+            return statusLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the recording and discards its data.
+     */
+    public RecordingStatus stop() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+                log.info("Stopped continuous flight recording");
+            }
+            return statusLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public RecordingStatus status() {
+        lock.lock();
+        try {
+            return statusLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies what the running recording holds into a new temporary file, which the caller deletes.
+     * Empty when no recording is running.
+     */
+    public Optional<Path> dump() throws IOException {
+        lock.lock();
+        try {
+            if (!isRunning()) {
+                return Optional.empty();
+            }
+            Path file = Files.createTempFile("ledger-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return Optional.of(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private RecordingStatus statusLocked() {
+        if (!isRunning()) {
+            return new RecordingStatus(false, settings, null, maxAge, maxSize.toBytes(), 0);
+        }
+        return new RecordingStatus(true, settings, recording.getStartTime(), maxAge, maxSize.toBytes(),
+                recording.getSize());
+    }
+
+    private Configuration configuration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown Flight Recorder settings: " + settings, e);
+        }
+    }
+
+    public record RecordingStatus(boolean running, String settings, Instant startedAt, Duration maxAge,
+                                  long maxSizeBytes, long sizeBytes) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.PaymentInsert")
+@Label("Payment Insert")
+@Description("INSERT of the payment row, flushed at commit")
+public class PaymentInsertEvent extends PaymentStageEvent {
+}
@@ -0,0 +1,118 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Emits the {@link PaymentStageEvent}s of the payment executing on the current thread. A payment is
+ * tracked from {@link #start} until its transaction completes, so the INSERTs Hibernate flushes and
+ * the commit itself are attributed to it too. Creating and committing an event while no recording
+ * has it enabled costs next to nothing.
+ */
+public final class PaymentProfiler {
+
+    private static final ThreadLocal<PaymentInProgress> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Ends tracking when the payment method returns, unless the transaction took it over.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private PaymentProfiler() {
+    }
+
+    /**
+     * Tracks a payment on this thread. Within a transaction tracking lasts until the transaction
+     * completes and a {@link PaymentCommitEvent} covers its commit; otherwise it ends when the
+     * returned scope is closed.
+     */
+    public static Scope start(TransactionType type, String fromAccountId, String toAccountId) {
+        PaymentInProgress payment = new PaymentInProgress(type.name(), fromAccountId, toAccountId);
+        CURRENT.set(payment);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new CommitTracker(payment));
+            return () -> { };
+        }
+        return () -> clear(payment);
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Fills in the payment in progress, if any, and starts timing the event.
+     */
+    public static <E extends PaymentStageEvent> E begin(E event) {
+        PaymentInProgress payment = CURRENT.get();
+        if (payment != null) {
+            event.paymentType = payment.type();
+            event.fromAccountId = payment.fromAccountId();
+            event.toAccountId = payment.toAccountId();
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts an event for an INSERT of the payment or its outbox row, or returns null for any other
+     * statement or when no payment is in progress.
+     */
+    public static PaymentStageEvent beginInsert(String sql) {
+        if (CURRENT.get() == null) {
+            return null;
+        }
+        if (startsWith(sql, "insert into payments ")) {
+            return begin(new PaymentInsertEvent());
+        }
+        if (startsWith(sql, "insert into outbox_events ")) {
+            return begin(new OutboxInsertEvent());
+        }
+        return null;
+    }
+
+    private static boolean startsWith(String sql, String prefix) {
+        int offset = 0;
+        while (offset < sql.length() && Character.isWhitespace(sql.charAt(offset))) {
+            offset++;
+        }
+        return sql.regionMatches(true, offset, prefix, 0, prefix.length());
+    }
+
+    private static void clear(PaymentInProgress payment) {
+        if (CURRENT.get() == payment) {
+            CURRENT.remove();
+        }
+    }
+
+    private record PaymentInProgress(String type, String fromAccountId, String toAccountId) {
+    }
+
+    private static final class CommitTracker implements TransactionSynchronization {
+
+        private final PaymentInProgress payment;
+        private PaymentCommitEvent commitEvent;
+
+        CommitTracker(PaymentInProgress payment) {
+            this.payment = payment;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitEvent = begin(new PaymentCommitEvent());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (commitEvent != null && status == STATUS_COMMITTED) {
+                commitEvent.commit();
+            }
+            clear(payment);
+        }
+    }
+}
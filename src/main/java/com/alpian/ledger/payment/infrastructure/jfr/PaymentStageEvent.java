@@ -0,0 +1,27 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Flight Recorder events emitted for each stage of a payment. The payment fields are
+ * filled in by {@link PaymentProfiler} from the payment in progress on the thread. Stack traces are
+ * off: the stage identifies the code, and capturing a stack would dominate the cost of the event.
+ */
+@Category({"Ledger", "Payment"})
+@Enabled
+@StackTrace(false)
+public abstract class PaymentStageEvent extends Event {
+
+    @Label("Payment Type")
+    String paymentType;
+
+    @Label("From Account")
+    String fromAccountId;
+
+    @Label("To Account")
+    String toAccountId;
+}
@@ -0,0 +1,11 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.alpian.ledger.StrategyExecution")
+@Label("Strategy Execution")
+@Description("Balance updates and entity writes of the payment strategy")
+public class StrategyExecutionEvent extends PaymentStageEvent {
+}
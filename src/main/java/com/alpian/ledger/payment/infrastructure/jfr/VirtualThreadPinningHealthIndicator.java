@@ -0,0 +1,42 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code virtualThreadPinning}, part of the readiness group: reports {@code OUT_OF_SERVICE} while more
+ * than {@code ledger.virtual-threads.max-pinned-per-window} pins, or any submit failure, happened in
+ * the monitor's window, so the load balancer drains the instance until its carriers recover. The
+ * details list the sites that pinned most often.
+ */
+@Component
+public class VirtualThreadPinningHealthIndicator implements HealthIndicator {
+
+    private static final int TOP_SITES = 5;
+
+    private final VirtualThreadPinningMonitor monitor;
+    private final int maxPinnedPerWindow;
+
+    public VirtualThreadPinningHealthIndicator(VirtualThreadPinningMonitor monitor,
+                                               @Value("${ledger.virtual-threads.max-pinned-per-window:100}") int maxPinnedPerWindow) {
+        this.monitor = monitor;
+        this.maxPinnedPerWindow = maxPinnedPerWindow;
+    }
+
+    @Override
+    public Health health() {
+        VirtualThreadPinningMonitor.WindowCounts counts = monitor.windowCounts();
+        Health.Builder builder = counts.pinned() > maxPinnedPerWindow || counts.submitFailures() > 0
+                ? Health.outOfService()
+                : Health.up();
+        return builder
+                .withDetail("window", monitor.window().toString())
+                .withDetail("pinned", counts.pinned())
+                .withDetail("maxPinned", maxPinnedPerWindow)
+                .withDetail("submitFailures", counts.submitFailures())
+                .withDetail("topSites", monitor.topSites(TOP_SITES))
+                .build();
+    }
+}
@@ -0,0 +1,280 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} and {@code jdk.VirtualThreadSubmitFailed} events
+ * in-process. A virtual thread that parks while holding a monitor (JDBC drivers, the Kafka producer
+ * and logging appenders all use {@code synchronized}) keeps its carrier thread, so enough of them
+ * starve every other virtual thread. Each pin is timed under the first frame outside the JDK, which
+ * is the code that parked, and the pins of the last {@code ledger.virtual-threads.window} are counted
+ * for {@link VirtualThreadPinningHealthIndicator} in a fixed ring of per-second buckets, so a burst of
+ * pins neither takes a lock nor allocates.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    static final String OTHER_SITE = "other";
+    static final String UNKNOWN_SITE = "unknown";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration pinnedThreshold;
+    private final int stackDepth;
+    private final int maxSites;
+    private final Duration window;
+    private final boolean enabled;
+    private final Counter submitFailedCounter;
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private final SecondBuckets pinnedInWindow;
+    private final SecondBuckets submitFailuresInWindow;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${ledger.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold,
+                                       @Value("${ledger.virtual-threads.stack-depth:5}") int stackDepth,
+                                       @Value("${ledger.virtual-threads.max-sites:50}") int maxSites,
+                                       @Value("${ledger.virtual-threads.window:1m}") Duration window,
+                                       @Value("${ledger.virtual-threads.monitor-enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.pinnedThreshold = pinnedThreshold;
+        this.stackDepth = stackDepth;
+        this.maxSites = maxSites;
+        this.window = window;
+        this.enabled = enabled;
+        this.pinnedInWindow = new SecondBuckets(window);
+        this.submitFailuresInWindow = new SecondBuckets(window);
+        this.submitFailedCounter = Counter.builder("virtual.threads.submit.failed")
+                .description("Virtual threads that could not be scheduled on a carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        RecordingStream started = new RecordingStream();
+        started.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        started.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+        started.onEvent(PINNED_EVENT, event -> pinned(event.getDuration(), frames(event), System.nanoTime()));
+        started.onEvent(SUBMIT_FAILED_EVENT, this::onSubmitFailed);
+        started.onError(e -> log.warn("Virtual thread pinning stream failed", e));
+        started.startAsync();
+        stream = started;
+        log.info("Monitoring virtual thread pinning longer than {}", pinnedThreshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * Pins and submit failures within the last {@link #window()}, to the second.
+     */
+    public WindowCounts windowCounts() {
+        return windowCounts(System.nanoTime());
+    }
+
+    WindowCounts windowCounts(long nowNanos) {
+        return new WindowCounts(pinnedInWindow.count(nowNanos), submitFailuresInWindow.count(nowNanos));
+    }
+
+    /**
+     * The sites that pinned most often since startup, most frequent first.
+     */
+    public List<SiteSummary> topSites(int limit) {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingLong(SiteSummary::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    void pinned(Duration duration, List<String> frames, long nowNanos) {
+        String site = siteOf(frames);
+        PinningSite stats = sites.get(site);
+        if (stats == null) {
+            if (sites.size() >= maxSites) {
+                site = OTHER_SITE;
+            }
+            stats = sites.computeIfAbsent(site, this::newSite);
+        }
+        stats.record(duration, frames);
+        pinnedInWindow.increment(nowNanos);
+    }
+
+    void submitFailed(long nowNanos) {
+        submitFailedCounter.increment();
+        submitFailuresInWindow.increment(nowNanos);
+    }
+
+    private void onSubmitFailed(RecordedEvent event) {
+        log.warn("Virtual thread {} could not be scheduled: {}",
+                event.getLong("javaThreadId"), event.getString("exceptionMessage"));
+        submitFailed(System.nanoTime());
+    }
+
+    private PinningSite newSite(String site) {
+        Timer timer = Timer.builder("virtual.threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry);
+        return new PinningSite(timer);
+    }
+
+    /**
+     * The top {@code stack-depth} frames, skipping the JDK's own parking frames so that the first
+     * entry is where the application or a library blocked.
+     */
+    private List<String> frames(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<RecordedFrame> all = stackTrace.getFrames();
+        int first = 0;
+        while (first < all.size() && isJdkFrame(frameName(all.get(first)))) {
+            first++;
+        }
+        if (first == all.size()) {
+            first = 0;
+        }
+        List<String> frames = new ArrayList<>(stackDepth);
+        for (int i = first; i < all.size() && frames.size() < stackDepth; i++) {
+            RecordedFrame frame = all.get(i);
+            frames.add(frame.getLineNumber() > 0
+                    ? frameName(frame) + ":" + frame.getLineNumber()
+                    : frameName(frame));
+        }
+        return frames;
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    /**
+     * {@code org.postgresql.core.v3.QueryExecutorImpl.execute:371} becomes
+     * {@code org.postgresql.core.v3.QueryExecutorImpl.execute}
+     */
+    static String siteOf(List<String> frames) {
+        if (frames.isEmpty()) {
+            return UNKNOWN_SITE;
+        }
+        String top = frames.get(0);
+        int line = top.lastIndexOf(':');
+        return line < 0 ? top : top.substring(0, line);
+    }
+
+    static boolean isJdkFrame(String frame) {
+        for (String jdkPackage : JDK_PACKAGES) {
+            if (frame.startsWith(jdkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record WindowCounts(int pinned, int submitFailures) {
+    }
+
+    public record SiteSummary(String site, long count, double totalMillis, double maxMillis, List<String> stack) {
+    }
+
+    /**
+     * One bucket per second of the window, reused round-robin. Each slot packs the second it counts
+     * into the upper bits and the count into the lower {@value #COUNT_BITS}, so a stale slot is
+     * reset and incremented in a single compare-and-set. Pins are at least the pinned threshold
+     * long, so a second never comes near 2^24 of them.
+     */
+    private static final class SecondBuckets {
+
+        private static final int COUNT_BITS = 24;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final AtomicLongArray slots;
+        private final int seconds;
+
+        SecondBuckets(Duration window) {
+            this.seconds = (int) Math.max(1, window.plusNanos(NANOS_PER_SECOND - 1).toSeconds());
+            this.slots = new AtomicLongArray(seconds);
+        }
+
+        void increment(long nowNanos) {
+            long second = Math.floorDiv(nowNanos, NANOS_PER_SECOND);
+            slots.getAndUpdate((int) Math.floorMod(second, seconds),
+                    slot -> (slot >> COUNT_BITS) == second ? slot + 1 : second << COUNT_BITS | 1);
+        }
+
+        int count(long nowNanos) {
+            long now = Math.floorDiv(nowNanos, NANOS_PER_SECOND);
+            long count = 0;
+            for (int i = 0; i < seconds; i++) {
+                long slot = slots.get(i);
+                long age = now - (slot >> COUNT_BITS);
+                if (age >= 0 && age < seconds) {
+                    count += slot & COUNT_MASK;
+                }
+            }
+            return (int) Math.min(count, Integer.MAX_VALUE);
+        }
+    }
+
+    private static final class PinningSite {
+
+        private final Timer timer;
+        private final LongAdder count = new LongAdder();
+        private volatile List<String> lastStack = List.of();
+
+        PinningSite(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(Duration duration, List<String> frames) {
+            timer.record(duration);
+            count.increment();
+            lastStack = frames;
+        }
+
+        SiteSummary summary(String site) {
+            return new SiteSummary(site, count.sum(), timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS), lastStack);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.alpian.ledger.payment.infrastructure.mapper;
 
 import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.NullValuePropertyMappingStrategy;
@@ -11,4 +12,8 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 )
 public interface AccountMapper {
     Account toDomain(AccountEntity entity);
+
+    default Money toMoney(long minorUnits) {
+        return Money.ofMinor(minorUnits);
+    }
 }
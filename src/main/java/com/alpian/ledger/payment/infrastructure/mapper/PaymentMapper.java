@@ -1,7 +1,12 @@
 package com.alpian.ledger.payment.infrastructure.mapper;
 
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
-import com.alpian.ledger.payment.domain.PaymentStatus;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryId;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryView;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import org.mapstruct.Mapper;
 
@@ -13,19 +18,16 @@ public interface PaymentMapper {
             return null;
         }
 
-        Payment payment = new Payment(
+        return new Payment(
                 entity.getPaymentId(),
                 entity.getType(),
                 entity.getFromAccountId(),
                 entity.getToAccountId(),
-                entity.getAmount(),
+                Money.ofMinor(entity.getAmount()),
+                entity.getStatus(),
                 entity.getIdempotencyKey(),
                 entity.getCreatedAt()
         );
-
-        applyStatusTransition(payment, entity.getStatus());
-
-        return payment;
     }
 
     default PaymentEntity toEntity(Payment payment) {
@@ -38,22 +40,65 @@ public interface PaymentMapper {
         entity.setType(payment.getType());
         entity.setFromAccountId(payment.getFromAccountId());
         entity.setToAccountId(payment.getToAccountId());
-        entity.setAmount(payment.getAmount());
+        entity.setAmount(payment.getAmount().minorUnits());
         entity.setStatus(payment.getStatus());
         entity.setIdempotencyKey(payment.getIdempotencyKey());
+        entity.setCreatedAt(payment.getCreatedAt());
 
         return entity;
     }
 
-    private void applyStatusTransition(Payment payment, PaymentStatus targetStatus) {
-        if (payment.getStatus() == targetStatus) {
-            return;
+    default AccountEntry toDomain(AccountEntryEntity entity) {
+        if (entity == null) {
+            return null;
         }
 
-        switch (targetStatus) {
-            case COMPLETED -> payment.complete();
-            case FAILED -> payment.fail();
-            case CREATED -> {}
+        return new AccountEntry(
+                entity.getId().getAccountId(),
+                entity.getDirection(),
+                toDomain(entity.getPayment()),
+                Money.ofMinor(entity.getBalanceAfter())
+        );
+    }
+
+    /**
+     * History rows are built in their stored status; nothing is validated or replayed per row.
+     */
+    default AccountEntry toDomain(AccountEntryView view) {
+        if (view == null) {
+            return null;
         }
+
+        Payment payment = new Payment(
+                view.paymentId(),
+                view.type(),
+                view.fromAccountId(),
+                view.toAccountId(),
+                Money.ofMinor(view.amount()),
+                view.status(),
+                view.idempotencyKey(),
+                view.createdAt()
+        );
+
+        return new AccountEntry(view.accountId(), view.direction(), payment, Money.ofMinor(view.balanceAfter()));
+    }
+
+    default AccountEntryEntity toEntity(AccountEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+
+        Payment payment = entry.payment();
+        AccountEntryEntity entity = new AccountEntryEntity();
+        entity.setId(new AccountEntryId(entry.accountId(), payment.getCreatedAt(), payment.getPaymentId()));
+        entity.setDirection(entry.direction());
+        entity.setAmount(payment.getAmount().minorUnits());
+        entity.setBalanceAfter(entry.balanceAfter().minorUnits());
+        entity.setType(payment.getType());
+        entity.setCounterpartyAccountId(entry.direction() == EntryDirection.OUT
+                ? payment.getToAccountId()
+                : payment.getFromAccountId());
+
+        return entity;
     }
 }
@@ -0,0 +1,128 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.infrastructure.jfr.BalanceUpdateEvent;
+import com.alpian.ledger.payment.infrastructure.jfr.LockAcquisitionEvent;
+import com.alpian.ledger.payment.infrastructure.jfr.PaymentProfiler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Times the statements that lock or update account rows, tagged by transaction type, and keeps a
+ * running total of lock wait per account for the {@code accountlocks} actuator endpoint.
+ * <p>
+ * {@link Phase#LOCK_WAIT} statements are the ones that acquire the row lock: the transfer's
+ * {@code SELECT ... FOR UPDATE}, and the single conditional {@code UPDATE} of a DEBIT or CREDIT,
+ * where waiting and executing happen in one statement (executing a primary-key row update is
+ * negligible next to any wait). {@link Phase#EXECUTION} statements run with the lock already held.
+ * Per-account totals are kept in a bounded cache whose frequency-based eviction retains the hot
+ * accounts. Both phases are also emitted as Flight Recorder events ({@link LockAcquisitionEvent},
+ * {@link BalanceUpdateEvent}).
+ */
+@Component
+public class AccountLockMonitor {
+
+    public enum Phase { LOCK_WAIT, EXECUTION }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Cache<String, WaitTotals> waitsByAccount;
+
+    public AccountLockMonitor(MeterRegistry meterRegistry,
+                              @Value("${ledger.lock-monitor.maximum-accounts:10000}") long maximumAccounts) {
+        this.meterRegistry = meterRegistry;
+        this.waitsByAccount = Caffeine.newBuilder()
+                .maximumSize(maximumAccounts)
+                .build();
+    }
+
+    /**
+     * Runs a statement that acquires the row locks of {@code accountIds} and charges its duration to each of them.
+     */
+    public <T> T lockWait(TransactionType type, String statement, Supplier<T> call, String... accountIds) {
+        LockAcquisitionEvent event = PaymentProfiler.begin(new LockAcquisitionEvent(statement));
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            event.commit();
+            timer(type, statement, Phase.LOCK_WAIT).record(nanos, TimeUnit.NANOSECONDS);
+            for (String accountId : accountIds) {
+                waitsByAccount.get(accountId, id -> new WaitTotals()).add(nanos);
+            }
+        }
+    }
+
+    /**
+     * Runs a statement on rows the transaction has already locked.
+     */
+    public <T> T execution(TransactionType type, String statement, Supplier<T> call) {
+        BalanceUpdateEvent event = PaymentProfiler.begin(new BalanceUpdateEvent(statement));
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            event.commit();
+            timer(type, statement, Phase.EXECUTION).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Accounts with the most accumulated lock wait since startup (or since they were last evicted), highest first.
+     */
+    public List<AccountLockWait> topWaits(int limit) {
+        return waitsByAccount.asMap().entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(AccountLockWait::totalWaitMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private Timer timer(TransactionType type, String statement, Phase phase) {
+        return timers.computeIfAbsent(new TimerKey(type, statement, phase), key -> Timer.builder("account.lock.statement")
+                .description("Time spent in statements that lock or update account rows")
+                .tag("type", key.type().name())
+                .tag("statement", key.statement())
+                .tag("phase", key.phase().name().toLowerCase(Locale.ROOT))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    public record AccountLockWait(String accountId, long waits, double totalWaitMillis, double maxWaitMillis) {
+    }
+
+    private record TimerKey(TransactionType type, String statement, Phase phase) {
+    }
+
+    private static final class WaitTotals {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        AccountLockWait snapshot(String accountId) {
+            return new AccountLockWait(accountId, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6);
+        }
+    }
+}
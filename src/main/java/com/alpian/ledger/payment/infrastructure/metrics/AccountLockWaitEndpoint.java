@@ -0,0 +1,28 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/accountlocks?limit=20}: the accounts that have spent the longest waiting for
+ * their row lock, as recorded by {@link AccountLockMonitor}.
+ */
+@Component
+@Endpoint(id = "accountlocks")
+@RequiredArgsConstructor
+public class AccountLockWaitEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final AccountLockMonitor lockMonitor;
+
+    @ReadOperation
+    public List<AccountLockMonitor.AccountLockWait> topWaits(@OptionalParameter Integer limit) {
+        return lockMonitor.topWaits(limit == null || limit < 1 ? DEFAULT_LIMIT : limit);
+    }
+}
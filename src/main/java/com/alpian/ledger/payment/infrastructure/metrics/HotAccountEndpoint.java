@@ -0,0 +1,25 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/hotaccounts}: the accounts receiving the most payment requests recently, as
+ * estimated by {@link HotAccountSketch}.
+ */
+@Component
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotAccountEndpoint {
+
+    private final HotAccountSketch sketch;
+
+    @ReadOperation
+    public List<HotAccountSketch.HotAccount> hotAccounts() {
+        return sketch.hotAccounts();
+    }
+}
@@ -0,0 +1,218 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Streaming heavy-hitter detection over the accounts that payments touch: a count-min sketch of
+ * decayed request counts plus a fixed-size table of the current top-K accounts.
+ * <p>
+ * Memory is fixed at {@code depth * width} counters and {@code topK} slots, however many accounts
+ * exist. Recording is lock-free: {@code depth} atomic increments, and a top-K update only when the
+ * estimate beats the smallest tracked one. Counts are overestimates, by at most
+ * {@code e * total / width} with high probability, and never underestimates.
+ * <p>
+ * Every {@code half-life} all counts are halved, so an account's count tracks its recent rate:
+ * steady traffic of {@code r} requests per second settles between {@code r * halfLife} and
+ * {@code 2 * r * halfLife}, and the reported rate uses the midpoint.
+ */
+@Component
+public class HotAccountSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+    private final AtomicReferenceArray<HeavyHitter> top;
+    private final Duration halfLife;
+
+    /**
+     * Smallest estimate in the top-K table, or 0 while it has free slots: records below it skip the table.
+     */
+    private volatile long admissionThreshold;
+
+    public HotAccountSketch(@Value("${ledger.hot-accounts.width:2048}") int width,
+                            @Value("${ledger.hot-accounts.depth:4}") int depth,
+                            @Value("${ledger.hot-accounts.top-k:32}") int topK,
+                            @Value("${ledger.hot-accounts.half-life:10s}") Duration halfLife) {
+        if (width < 1 || depth < 1 || topK < 1) {
+            throw new IllegalArgumentException("Sketch width, depth and top-k must be positive");
+        }
+        int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+        this.top = new AtomicReferenceArray<>(topK);
+        this.halfLife = halfLife;
+    }
+
+    /**
+     * Counts one request against {@code accountId}; null ids are ignored.
+     */
+    public void record(String accountId) {
+        if (accountId == null) {
+            return;
+        }
+        int hash = accountId.hashCode();
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & mask;
+            estimate = Math.min(estimate, counters.incrementAndGet(row * (mask + 1) + column));
+        }
+
+        if (estimate > admissionThreshold) {
+            offer(accountId, hash, estimate);
+        }
+    }
+
+    /**
+     * Current decayed count of {@code accountId}.
+     */
+    public long estimate(String accountId) {
+        long mixed = mix(accountId.hashCode());
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * (mask + 1) + ((h1 + row * h2) & mask)));
+        }
+        return estimate;
+    }
+
+    /**
+     * The tracked heavy hitters, highest count first.
+     */
+    public List<HotAccount> hotAccounts() {
+        Map<String, Long> byAccount = new HashMap<>();
+        for (int slot = 0; slot < top.length(); slot++) {
+            HeavyHitter hitter = top.get(slot);
+            if (hitter != null) {
+                byAccount.putIfAbsent(hitter.accountId, estimate(hitter.accountId));
+            }
+        }
+        double window = 1.5 * halfLife.toMillis() / 1000.0;
+        return byAccount.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> new HotAccount(entry.getKey(), entry.getValue(),
+                        Math.round(entry.getValue() / window * 100) / 100.0))
+                .sorted(Comparator.comparingLong(HotAccount::decayedCount).reversed())
+                .toList();
+    }
+
+    /**
+     * Halves every count. Concurrent records are never lost: each counter is halved with a CAS.
+     */
+    @Scheduled(fixedRateString = "${ledger.hot-accounts.half-life:10s}", initialDelayString = "${ledger.hot-accounts.half-life:10s}")
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+        long threshold = Long.MAX_VALUE;
+        for (int slot = 0; slot < top.length(); slot++) {
+            HeavyHitter hitter = top.get(slot);
+            if (hitter != null && hitter.estimate > 1) {
+                hitter.estimate >>>= 1;
+                threshold = Math.min(threshold, hitter.estimate);
+            } else {
+                top.compareAndSet(slot, hitter, null);
+                threshold = 0;
+            }
+        }
+        admissionThreshold = threshold;
+    }
+
+    /**
+     * Probes the table from the account's home slot, so an account that entered through a free
+     * slot is found on the first probe. Estimates of tracked accounts are updated in place; a
+     * newcomer takes a free slot or evicts the smallest entry. A lost race only means this record
+     * does not enter the table, and the account's next record retries.
+     */
+    private void offer(String accountId, int hash, long estimate) {
+        int slots = top.length();
+        int home = Math.floorMod(hash, slots);
+        int freeSlot = -1;
+        int freeSlots = 0;
+        int minSlot = -1;
+        HeavyHitter min = null;
+        long secondMin = Long.MAX_VALUE;
+        for (int probe = 0; probe < slots; probe++) {
+            int slot = home + probe < slots ? home + probe : home + probe - slots;
+            HeavyHitter hitter = top.get(slot);
+            if (hitter == null) {
+                if (freeSlots++ == 0) {
+                    freeSlot = slot;
+                }
+            } else if (hitter.hash == hash && hitter.accountId.equals(accountId)) {
+                if (hitter.estimate < estimate) {
+                    hitter.estimate = estimate;
+                }
+                return;
+            } else if (min == null || hitter.estimate < min.estimate) {
+                if (min != null) {
+                    secondMin = min.estimate;
+                }
+                min = hitter;
+                minSlot = slot;
+            } else if (hitter.estimate < secondMin) {
+                secondMin = hitter.estimate;
+            }
+        }
+
+        // The threshold is only ever raised to the smallest estimate just seen, never above it
+        if (freeSlot >= 0) {
+            if (top.compareAndSet(freeSlot, null, new HeavyHitter(accountId, hash, estimate)) && freeSlots == 1) {
+                admissionThreshold = min == null ? estimate : Math.min(min.estimate, estimate);
+            }
+        } else if (min.estimate >= estimate) {
+            // Tracked estimates have grown past the threshold since it was set
+            admissionThreshold = min.estimate;
+        } else if (top.compareAndSet(minSlot, min, new HeavyHitter(accountId, hash, estimate))) {
+            admissionThreshold = Math.min(secondMin, estimate);
+        }
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3; the two halves index the rows by double hashing.
+     */
+    private static long mix(int hash) {
+        long x = hash * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    public record HotAccount(String accountId, long decayedCount, double ratePerSecond) {
+    }
+
+    private static final class HeavyHitter {
+
+        final String accountId;
+        final int hash;
+        // Plain field: a stale or lost update only leaves it slightly low until the account's next
+        // record, and skipping the volatile store keeps hot accounts on the cheap path
+        long estimate;
+
+        HeavyHitter(String accountId, int hash, long estimate) {
+            this.accountId = accountId;
+            this.hash = hash;
+            this.estimate = estimate;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.exception.IdempotencyConflictException;
+import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the payment write path, resolved once per {@link TransactionType} and {@link Outcome}
+ * at startup so that recording costs a map lookup and a timer update, with no tag building, meter
+ * lookup or AOP proxy involved. Durations are passed as the {@link System#nanoTime()} the step
+ * started at.
+ * <ul>
+ *     <li>{@code payment.create{type,outcome}} - the whole {@code createPayment} call; within a
+ *     transaction up to its completion, because the payment's INSERTs only run in the commit-time
+ *     flush. A payment that fails there is recorded as {@code commit_failed}, not {@code success}.</li>
+ *     <li>{@code payment.strategy.<type>} - the strategy's balance updates and inserts</li>
+ *     <li>{@code outbox.publish} - writing the payment event to the outbox</li>
+ * </ul>
+ */
+@Component
+public class PaymentMetrics {
+
+    public enum Outcome { SUCCESS, INSUFFICIENT_FUNDS, ACCOUNT_NOT_FOUND, IDEMPOTENCY_CONFLICT, COMMIT_FAILED, ERROR }
+
+    private final Map<TransactionType, Map<Outcome, Timer>> createTimers = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Timer> strategyTimers = new EnumMap<>(TransactionType.class);
+    private final Timer outboxPublishTimer;
+
+    public PaymentMetrics(MeterRegistry meterRegistry) {
+        for (TransactionType type : TransactionType.values()) {
+            String typeTag = type.name();
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("payment.create")
+                        .description("Time taken to create a payment")
+                        .tag("type", typeTag)
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+            createTimers.put(type, byOutcome);
+            strategyTimers.put(type, Timer.builder("payment.strategy." + typeTag.toLowerCase(Locale.ROOT))
+                    .description("Time taken to execute a " + typeTag + " payment strategy")
+                    .register(meterRegistry));
+        }
+        outboxPublishTimer = Timer.builder("outbox.publish")
+                .description("Time taken to publish payment event to outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a payment. Inside a transaction the outcome is recorded once the transaction
+     * completes, from whether it committed; otherwise as soon as the caller reports it.
+     */
+    public PaymentAttempt paymentStarted(TransactionType type) {
+        PaymentAttempt attempt = new PaymentAttempt(createTimers.get(type), System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(attempt);
+            attempt.deferred = true;
+        }
+        return attempt;
+    }
+
+    public void strategyExecuted(TransactionType type, long startNanos) {
+        record(strategyTimers.get(type), startNanos);
+    }
+
+    public void outboxPublished(long startNanos) {
+        record(outboxPublishTimer, startNanos);
+    }
+
+    static Outcome outcomeOf(Throwable failure) {
+        if (failure instanceof InsufficientFundsException) {
+            return Outcome.INSUFFICIENT_FUNDS;
+        } else if (failure instanceof AccountNotFoundException) {
+            return Outcome.ACCOUNT_NOT_FOUND;
+        } else if (failure instanceof IdempotencyConflictException) {
+            return Outcome.IDEMPOTENCY_CONFLICT;
+        }
+        return Outcome.ERROR;
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One {@code createPayment} call. The caller reports {@link #succeeded()} or {@link #failed};
+     * inside a transaction those only feed the outcome recorded after completion.
+     */
+    public static final class PaymentAttempt implements TransactionSynchronization {
+
+        private final Map<Outcome, Timer> timers;
+        private final long startNanos;
+        private boolean deferred;
+        private Throwable failure;
+
+        private PaymentAttempt(Map<Outcome, Timer> timers, long startNanos) {
+            this.timers = timers;
+            this.startNanos = startNanos;
+        }
+
+        public void succeeded() {
+            if (!deferred) {
+                record(timers.get(Outcome.SUCCESS), startNanos);
+            }
+        }
+
+        public void failed(Throwable failure) {
+            this.failure = failure;
+            if (!deferred) {
+                record(timers.get(outcomeOf(failure)), startNanos);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            Outcome outcome;
+            if (failure != null) {
+                outcome = outcomeOf(failure);
+            } else if (status == STATUS_COMMITTED) {
+                outcome = Outcome.SUCCESS;
+            } else {
+                outcome = Outcome.COMMIT_FAILED;
+            }
+            record(timers.get(outcome), startNanos);
+        }
+    }
+}
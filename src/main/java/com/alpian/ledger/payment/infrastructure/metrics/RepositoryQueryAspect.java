@@ -0,0 +1,75 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names the statements a repository call executes after the repository method, e.g.
+ * {@code AccountRepository.deductBalance}, for {@link SqlStatementListener}. Covers Spring Data
+ * repositories and the {@code @Repository} classes built on {@code JdbcTemplate}. Only the outermost
+ * repository call on a thread names its statements.
+ * <p>
+ * The payment write path is left out, so a payment passes through no advice and no thread-local
+ * bookkeeping: its queries name themselves in a leading SQL comment instead, and entity saves only
+ * execute at the commit flush.
+ */
+@Aspect
+@Component
+public class RepositoryQueryAspect {
+
+    private static final ThreadLocal<String> CURRENT_QUERY = new ThreadLocal<>();
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * The repository method running on this thread, or null outside any repository call
+     */
+    static String currentQuery() {
+        return CURRENT_QUERY.get();
+    }
+
+    @Pointcut("this(org.springframework.data.repository.Repository) "
+            + "|| @within(org.springframework.stereotype.Repository)")
+    void repositoryCall() {
+    }
+
+    @Pointcut("execution(* save*(..)) "
+            + "|| execution(* com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository.findByIdempotencyKey(..)) "
+            + "|| execution(* com.alpian.ledger.payment.infrastructure.persistence.AccountRepository.deductBalance(..)) "
+            + "|| execution(* com.alpian.ledger.payment.infrastructure.persistence.AccountRepository.creditBalance(..)) "
+            + "|| execution(* com.alpian.ledger.payment.infrastructure.persistence.AccountRepository.lockAccountsInOrder(..)) "
+            + "|| execution(* com.alpian.ledger.payment.infrastructure.persistence.AccountDailyStatsRepository.increment(..))")
+    void paymentWritePath() {
+    }
+
+    @Around("repositoryCall() && !paymentWritePath()")
+    public Object nameQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (CURRENT_QUERY.get() != null) {
+            return joinPoint.proceed();
+        }
+        CURRENT_QUERY.set(repositoryName(joinPoint.getThis()) + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT_QUERY.remove();
+        }
+    }
+
+    /**
+     * The repository interface behind a Spring Data proxy, or the class of a {@code @Repository} bean
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> AopUtils.isJdkDynamicProxy(proxy)
+                ? AopProxyUtils.proxiedUserInterfaces(proxy)[0].getSimpleName()
+                : ClassUtils.getUserClass(type).getSimpleName());
+    }
+}
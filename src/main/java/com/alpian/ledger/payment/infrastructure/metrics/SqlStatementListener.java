@@ -0,0 +1,136 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.infrastructure.jfr.PaymentProfiler;
+import com.alpian.ledger.payment.infrastructure.jfr.PaymentStageEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times every JDBC round trip on the proxied DataSource per query shape ({@code jdbc.query}) and
+ * counts its statements ({@code jdbc.statements}), then adds it to the thread's open
+ * {@link SqlStatementScope}s.
+ * <p>
+ * The shape is the repository method that issued the statement: the name in a leading SQL comment
+ * such as {@code /* AccountRepository.deductBalance *}{@code /}, which the payment write path's
+ * queries carry, or else the repository call recorded by {@link RepositoryQueryAspect}. Statements
+ * issued outside a repository call, chiefly the INSERTs Hibernate flushes at commit, are named after
+ * their verb and table instead, e.g. {@code insert payments}; all three keep the tag cardinality
+ * bounded by the code rather than by the data.
+ * <p>
+ * While a payment is in progress its payment and outbox INSERTs are also emitted as Flight Recorder
+ * events (see {@link PaymentProfiler#beginInsert}), since Hibernate only executes them at commit.
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatementListener.class.getName() + ".start";
+    private static final String STAGE_EVENT = SqlStatementListener.class.getName() + ".event";
+    private static final String NAME_START = "/* ";
+    private static final String NAME_END = " */";
+    private static final Pattern WRITE = Pattern.compile("^\\s*(insert|update|delete)(?:\\s+into|\\s+from)?\\s+\"?(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern READ = Pattern.compile("^\\s*select\\b.*?\\bfrom\\s+\"?(\\w+)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatementListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (PaymentProfiler.isActive() && !queryInfoList.isEmpty()) {
+            PaymentStageEvent event = PaymentProfiler.beginInsert(queryInfoList.get(0).getQuery());
+            if (event != null) {
+                execInfo.addCustomValue(STAGE_EVENT, event);
+            }
+        }
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        PaymentStageEvent event = execInfo.getCustomValue(STAGE_EVENT, PaymentStageEvent.class);
+        if (event != null) {
+            event.commit();
+        }
+        // A PreparedStatement batch is one query with many parameter sets; a Statement batch is many queries
+        int statements = execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size();
+        String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+        String query = sql == null ? null : commentName(sql);
+        if (query == null) {
+            query = RepositoryQueryAspect.currentQuery();
+        }
+        if (query == null) {
+            query = sql == null ? "other" : shape(sql);
+        }
+
+        Meters shapeMeters = meters.computeIfAbsent(query, this::register);
+        shapeMeters.timer().record(nanos, TimeUnit.NANOSECONDS);
+        shapeMeters.statements().increment(statements);
+        SqlStatementScope.record(query, statements);
+    }
+
+    /**
+     * The name a statement declares in a leading comment, e.g. {@code PaymentRepository.findByIdempotencyKey},
+     * or null. Only a single word is taken as a name, never a comment written as prose.
+     */
+    static String commentName(String sql) {
+        if (!sql.startsWith(NAME_START)) {
+            return null;
+        }
+        int end = sql.indexOf(NAME_END, NAME_START.length());
+        if (end < 0) {
+            return null;
+        }
+        String name = sql.substring(NAME_START.length(), end);
+        return name.isEmpty() || name.indexOf(' ') >= 0 ? null : name;
+    }
+
+    /**
+     * Verb and table of a statement, lower case, e.g. {@code insert payments} or {@code select scheduled_tasks}
+     */
+    static String shape(String sql) {
+        Matcher write = WRITE.matcher(sql);
+        if (write.find()) {
+            return write.group(1).toLowerCase(Locale.ROOT) + " " + write.group(2).toLowerCase(Locale.ROOT);
+        }
+        Matcher read = READ.matcher(sql);
+        if (read.find()) {
+            return "select " + read.group(1).toLowerCase(Locale.ROOT);
+        }
+        return "other";
+    }
+
+    private Meters register(String query) {
+        return new Meters(
+                Timer.builder("jdbc.query")
+                        .description("Time per JDBC round trip, by repository method or statement shape")
+                        .tag("query", query)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Counter.builder("jdbc.statements")
+                        .description("JDBC statements executed, counting each batch entry")
+                        .tag("query", query)
+                        .register(meterRegistry));
+    }
+
+    private record Meters(Timer timer, Counter statements) {
+    }
+}
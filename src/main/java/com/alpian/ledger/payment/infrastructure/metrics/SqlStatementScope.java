@@ -0,0 +1,119 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements and round trips executed on the current thread while it is open.
+ * Scopes nest: a statement counts towards every open scope of the thread, so a transaction scope
+ * opened inside a request scope adds to both. A batch is one round trip carrying several statements.
+ * <p>
+ * Opened per HTTP request by {@code SqlStatementInterceptor} and per transaction by
+ * {@link SqlStatementTransactionListener}; tests open one directly to assert a statement budget.
+ */
+public final class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementScope parent;
+    private final Object owner;
+    private final Map<String, Integer> statementsByQuery = new LinkedHashMap<>();
+    private int statements;
+    private int roundTrips;
+    private boolean closed;
+
+    private SqlStatementScope(SqlStatementScope parent, Object owner) {
+        this.parent = parent;
+        this.owner = owner;
+    }
+
+    public static SqlStatementScope open() {
+        return open(null);
+    }
+
+    static SqlStatementScope open(Object owner) {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get(), owner);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The open scope of this thread opened for {@code owner}, or null
+     */
+    static SqlStatementScope ownedBy(Object owner) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (scope.owner == owner) {
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds one round trip of {@code statements} statements of the given query shape to every open scope.
+     */
+    static void record(String query, int statements) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(query, statements);
+        }
+    }
+
+    private void add(String query, int count) {
+        statements += count;
+        roundTrips++;
+        statementsByQuery.merge(query, count, Integer::sum);
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int roundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * Statements per query shape, in the order the shapes were first executed.
+     */
+    public Map<String, Integer> statementsByQuery() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(statementsByQuery));
+    }
+
+    /**
+     * Stops counting. Closing a scope that still has open scopes nested in it closes those too.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!isOnStack()) {
+            // An enclosing scope was closed first
+            return;
+        }
+        for (SqlStatementScope scope = CURRENT.get(); scope != this; scope = scope.parent) {
+            scope.closed = true;
+        }
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    private boolean isOnStack() {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (scope == this) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements in " + roundTrips + " round trips " + statementsByQuery;
+    }
+}
@@ -0,0 +1,72 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Records the JDBC statements and round trips of every transaction the application begins, tagged
+ * by the transactional method (e.g. {@code PaymentService.createPayment}). Participating in an
+ * existing transaction does not start a new count. Spring Boot registers the listener with the
+ * transaction manager.
+ */
+@Component
+public class SqlStatementTransactionListener implements TransactionExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementTransactionListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            SqlStatementScope.open(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        complete(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        complete(transaction, "rollback");
+    }
+
+    private void complete(TransactionExecution transaction, String outcome) {
+        SqlStatementScope scope = SqlStatementScope.ownedBy(transaction);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        String name = shortName(transaction.getTransactionName());
+        summary("jdbc.transaction.statements", "JDBC statements per transaction", name, outcome)
+                .record(scope.statements());
+        summary("jdbc.transaction.round.trips", "JDBC round trips per transaction", name, outcome)
+                .record(scope.roundTrips());
+    }
+
+    private DistributionSummary summary(String metric, String description, String transaction, String outcome) {
+        return DistributionSummary.builder(metric)
+                .description(description)
+                .tag("transaction", transaction)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code com.example.PaymentService.createPayment} becomes {@code PaymentService.createPayment}
+     */
+    static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isBlank()) {
+            return "unnamed";
+        }
+        int method = transactionName.lastIndexOf('.');
+        return method < 0 ? transactionName : transactionName.substring(transactionName.lastIndexOf('.', method - 1) + 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maintains and reads the {@code account_daily_stats} rollup.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountDailyStatsRepository {
+
+    private static final String UPSERT = """
+            /* AccountDailyStatsRepository.increment */
+            INSERT INTO account_daily_stats (account_id, day, inflow, outflow, inflow_count, outflow_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (account_id, day) DO UPDATE
+            SET inflow = account_daily_stats.inflow + EXCLUDED.inflow,
+                outflow = account_daily_stats.outflow + EXCLUDED.outflow,
+                inflow_count = account_daily_stats.inflow_count + EXCLUDED.inflow_count,
+                outflow_count = account_daily_stats.outflow_count + EXCLUDED.outflow_count
+            """;
+
+    private static final String DAILY = """
+            SELECT day AS period, inflow, outflow, inflow_count, outflow_count
+            FROM account_daily_stats
+            WHERE account_id = ? AND day BETWEEN ? AND ?
+            ORDER BY day
+            """;
+
+    private static final String MONTHLY = """
+            SELECT date_trunc('month', day)::date AS period,
+                   SUM(inflow)::bigint AS inflow, SUM(outflow)::bigint AS outflow,
+                   SUM(inflow_count)::bigint AS inflow_count, SUM(outflow_count)::bigint AS outflow_count
+            FROM account_daily_stats
+            WHERE account_id = ? AND day BETWEEN ? AND ?
+            GROUP BY 1
+            ORDER BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the entries to their account's row for the UTC day of the payment, in one batch.
+     * Rows are touched in account order, matching the account lock order of internal transfers.
+     */
+    public void increment(List<AccountEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<AccountEntry> ordered = entries.stream()
+                .sorted(Comparator.comparing(AccountEntry::accountId))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT, ordered, ordered.size(), (ps, entry) -> {
+            boolean in = entry.direction() == EntryDirection.IN;
+            long amount = entry.payment().getAmount().minorUnits();
+            ps.setString(1, entry.accountId());
+            ps.setObject(2, LocalDate.ofInstant(entry.payment().getCreatedAt(), ZoneOffset.UTC));
+            ps.setLong(3, in ? amount : 0);
+            ps.setLong(4, in ? 0 : amount);
+            ps.setInt(5, in ? 1 : 0);
+            ps.setInt(6, in ? 0 : 1);
+        });
+    }
+
+    /**
+     * Days with activity in {@code [from, to]}, oldest first; at most one row per day.
+     */
+    public List<ActivityPeriod> findDaily(String accountId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(DAILY, (rs, rowNum) -> toPeriod(rs), accountId, from, to);
+    }
+
+    /**
+     * Months with activity in {@code [from, to]}, oldest first, summed from at most 31 daily rows each.
+     */
+    public List<ActivityPeriod> findMonthly(String accountId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(MONTHLY, (rs, rowNum) -> toPeriod(rs), accountId, from, to);
+    }
+
+    private static ActivityPeriod toPeriod(ResultSet rs) throws SQLException {
+        return new ActivityPeriod(
+                rs.getObject("period", LocalDate.class),
+                Money.ofMinor(rs.getLong("inflow")),
+                Money.ofMinor(rs.getLong("outflow")),
+                rs.getLong("inflow_count"),
+                rs.getLong("outflow_count")
+        );
+    }
+}
@@ -9,7 +9,6 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
@@ -25,8 +24,17 @@ public class AccountEntity {
     @Column(name = "account_id")
     private String accountId;
 
-    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    /**
+     * Balance in minor units (see {@link com.alpian.ledger.payment.domain.Money})
+     */
+    @Column(name = "balance", nullable = false)
+    private long balance;
+
+    /**
+     * Incremented by every balance update; the account's ETag
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
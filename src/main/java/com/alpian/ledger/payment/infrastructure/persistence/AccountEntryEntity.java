@@ -0,0 +1,63 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Denormalized per-account view of a payment, written in the same transaction as the payment itself
+ */
+@Entity
+@Table(name = "account_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEntryEntity extends AssignedIdEntity<AccountEntryId> {
+
+    @EmbeddedId
+    private AccountEntryId id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false)
+    private EntryDirection direction;
+
+    /**
+     * Amount in minor units (see {@link com.alpian.ledger.payment.domain.Money})
+     */
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    /**
+     * Account balance right after this entry was applied, in minor units
+     */
+    @Column(name = "balance_after", nullable = false)
+    private long balanceAfter;
+
+    /**
+     * Copied from the payment so that filtered history searches do not need the join
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    /**
+     * The other account of an INTERNAL_TRANSFER, null for DEBIT and CREDIT
+     */
+    @Column(name = "counterparty_account_id")
+    private String counterpartyAccountId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", insertable = false, updatable = false)
+    private PaymentEntity payment;
+
+    /**
+     * Insertion sequence assigned by the database identity, read by the changes feed
+     */
+    @Column(name = "seq", insertable = false, updatable = false)
+    private Long seq;
+}
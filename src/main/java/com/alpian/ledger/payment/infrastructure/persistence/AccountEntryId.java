@@ -0,0 +1,32 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Primary key of an account entry, ordered so that an account's history is one index range scan
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AccountEntryId implements Serializable {
+
+    @Column(name = "account_id", nullable = false)
+    private String accountId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "payment_id", nullable = false)
+    private UUID paymentId;
+}
@@ -0,0 +1,84 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccountEntryRepository extends JpaRepository<AccountEntryEntity, AccountEntryId> {
+
+    /**
+     * History rows are projected into {@link AccountEntryView} rather than loaded as entities
+     */
+    String SELECT_VIEW = "SELECT new com.alpian.ledger.payment.infrastructure.persistence.AccountEntryView(" +
+                         "e.id.accountId, e.seq, e.direction, e.balanceAfter, p.paymentId, p.type, p.fromAccountId, " +
+                         "p.toAccountId, p.amount, p.status, p.idempotencyKey, p.createdAt) " +
+                         "FROM AccountEntryEntity e JOIN e.payment p ";
+
+    @Query(value = SELECT_VIEW +
+                   "WHERE e.id.accountId = :accountId " +
+                   "ORDER BY e.id.createdAt DESC, e.id.paymentId DESC",
+           countQuery = "SELECT COUNT(e) FROM AccountEntryEntity e WHERE e.id.accountId = :accountId")
+    Page<AccountEntryView> findByAccountId(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Newest entries for an account; the {@code pageable} only caps the row count, no count query is run.
+     */
+    @Query(SELECT_VIEW +
+           "WHERE e.id.accountId = :accountId " +
+           "ORDER BY e.id.createdAt DESC, e.id.paymentId DESC")
+    List<AccountEntryView> findLatestByAccountId(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Latest entry at or before {@code asOf}: a backward seek on the primary key, one row read.
+     */
+    @Query("SELECT e FROM AccountEntryEntity e " +
+           "WHERE e.id.accountId = :accountId AND e.id.createdAt <= :asOf " +
+           "ORDER BY e.id.createdAt DESC, e.id.paymentId DESC")
+    List<AccountEntryEntity> findLatestAtOrBefore(@Param("accountId") String accountId,
+                                                  @Param("asOf") Instant asOf,
+                                                  Pageable pageable);
+
+    /**
+     * Earliest entry after {@code asOf}: a forward seek on the primary key, one row read.
+     */
+    @Query("SELECT e FROM AccountEntryEntity e " +
+           "WHERE e.id.accountId = :accountId AND e.id.createdAt > :asOf " +
+           "ORDER BY e.id.createdAt ASC, e.id.paymentId ASC")
+    List<AccountEntryEntity> findEarliestAfter(@Param("accountId") String accountId,
+                                               @Param("asOf") Instant asOf,
+                                               Pageable pageable);
+
+    /**
+     * Entries inserted after sequence {@code since}, oldest first: a forward range scan on
+     * {@code idx_account_entries_seq} that reads only the new rows.
+     */
+    @Query(SELECT_VIEW +
+           "WHERE e.id.accountId = :accountId AND e.seq > :since " +
+           "ORDER BY e.seq ASC")
+    List<AccountEntryView> findByAccountIdAfterSeq(@Param("accountId") String accountId,
+                                                   @Param("since") long since,
+                                                   Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM AccountEntryEntity e WHERE e.id.accountId = :accountId")
+    long countByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * Entries strictly older than the given keyset position, seeking directly into the primary key.
+     */
+    @Query(SELECT_VIEW +
+           "WHERE e.id.accountId = :accountId " +
+           "AND (e.id.createdAt, e.id.paymentId) < (:createdAt, :paymentId) " +
+           "ORDER BY e.id.createdAt DESC, e.id.paymentId DESC")
+    List<AccountEntryView> findByAccountIdBefore(@Param("accountId") String accountId,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("paymentId") UUID paymentId,
+                                                   Pageable pageable);
+}
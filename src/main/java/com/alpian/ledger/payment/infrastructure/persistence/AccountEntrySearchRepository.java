@@ -0,0 +1,58 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.PaymentStatus;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filtered payment history, see {@link HistorySearchQuery}. Rows are read straight into
+ * {@link AccountEntryView}, newest first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountEntrySearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Up to {@code limit} matching entries strictly older than {@code after} (when set), skipping {@code offset}
+     */
+    public List<AccountEntryView> search(String accountId, HistoryFilter filter, HistoryCursor after,
+                                         long offset, int limit) {
+        HistorySearchQuery query = HistorySearchQuery.page(accountId, filter, after, offset, limit);
+        return jdbcTemplate.query(query.sql(), query.params(), (rs, rowNum) -> toView(rs));
+    }
+
+    public long count(String accountId, HistoryFilter filter) {
+        HistorySearchQuery query = HistorySearchQuery.count(accountId, filter);
+        Long count = jdbcTemplate.queryForObject(query.sql(), query.params(), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static AccountEntryView toView(ResultSet rs) throws SQLException {
+        return new AccountEntryView(
+                rs.getString("account_id"),
+                rs.getLong("seq"),
+                EntryDirection.valueOf(rs.getString("direction")),
+                rs.getLong("balance_after"),
+                rs.getObject("payment_id", UUID.class),
+                TransactionType.valueOf(rs.getString("type")),
+                rs.getString("from_account_id"),
+                rs.getString("to_account_id"),
+                rs.getLong("amount"),
+                PaymentStatus.valueOf(rs.getString("status")),
+                rs.getString("idempotency_key"),
+                rs.getTimestamp("created_at").toInstant()
+        );
+    }
+}
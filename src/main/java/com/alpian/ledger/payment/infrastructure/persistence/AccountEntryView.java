@@ -0,0 +1,28 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.PaymentStatus;
+import com.alpian.ledger.payment.domain.TransactionType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of an account entry joined with its payment, built directly from the
+ * query's columns: no managed entities, no persistence-context registration, no dirty-checking
+ * snapshot. {@code seq} is the entry's insertion sequence. Amounts are in minor units (see {@link com.alpian.ledger.payment.domain.Money}).
+ */
+public record AccountEntryView(
+        String accountId,
+        long seq,
+        EntryDirection direction,
+        long balanceAfter,
+        UUID paymentId,
+        TransactionType type,
+        String fromAccountId,
+        String toAccountId,
+        long amount,
+        PaymentStatus status,
+        String idempotencyKey,
+        Instant createdAt
+) {}
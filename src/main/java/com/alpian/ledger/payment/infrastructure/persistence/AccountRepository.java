@@ -1,12 +1,10 @@
 package com.alpian.ledger.payment.infrastructure.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,31 +13,46 @@ public interface AccountRepository extends JpaRepository<AccountEntity, String>
     Optional<AccountEntity> findByAccountId(String accountId);
 
     /**
-     * Atomically deduct amount from account balance if sufficient funds exist.
+     * Load several accounts in one round trip; the ids travel as a single array parameter, so the
+     * statement text (and its cached plan) is the same however many accounts are requested.
+     * @param accountIds the accounts to load
+     * @return the accounts that exist, in no particular order
+     */
+    @Query(value = "SELECT * FROM accounts WHERE account_id = ANY(:accountIds)",
+           nativeQuery = true)
+    List<AccountEntity> findAllByAccountIdIn(@Param("accountIds") String[] accountIds);
+
+    /**
+     * Atomically deduct amount from account balance if sufficient funds exist, bumping the account version.
+     * Not a {@code @Modifying} query: {@code RETURNING} hands back the new balance in the same round trip.
      * @param accountId the account to deduct from
-     * @param amount the amount to deduct
-     * @return number of rows updated (1 = success, 0 = failed due to insufficient funds or account not found)
+     * @param amount the amount to deduct, in minor units
+     * @return the balance after the deduction in minor units, or empty if funds were insufficient or the account was not found
      */
-    @Modifying
-    @Query("UPDATE AccountEntity a " +
-           "SET a.balance = a.balance - :amount " +
-           "WHERE a.accountId = :accountId " +
-           "AND a.balance >= :amount")
-    int deductBalance(@Param("accountId") String accountId,
-                      @Param("amount") BigDecimal amount);
+    @Query(value = "/* AccountRepository.deductBalance */ " +
+                   "UPDATE accounts " +
+                   "SET balance = balance - :amount, version = version + 1 " +
+                   "WHERE account_id = :accountId " +
+                   "AND balance >= :amount " +
+                   "RETURNING balance",
+           nativeQuery = true)
+    Optional<Long> deductBalance(@Param("accountId") String accountId,
+                                 @Param("amount") long amount);
 
     /**
-     * Atomically add amount to account balance (for CREDIT and INTERNAL_TRANSFER destination).
+     * Atomically add amount to account balance (for CREDIT and INTERNAL_TRANSFER destination), bumping the account version.
      * @param accountId the account to credit
-     * @param amount the amount to add
-     * @return number of rows updated (1 = success, 0 = account not found)
+     * @param amount the amount to add, in minor units
+     * @return the balance after the credit in minor units, or empty if the account was not found
      */
-    @Modifying
-    @Query("UPDATE AccountEntity a " +
-           "SET a.balance = a.balance + :amount " +
-           "WHERE a.accountId = :accountId")
-    int creditBalance(@Param("accountId") String accountId,
-                      @Param("amount") BigDecimal amount);
+    @Query(value = "/* AccountRepository.creditBalance */ " +
+                   "UPDATE accounts " +
+                   "SET balance = balance + :amount, version = version + 1 " +
+                   "WHERE account_id = :accountId " +
+                   "RETURNING balance",
+           nativeQuery = true)
+    Optional<Long> creditBalance(@Param("accountId") String accountId,
+                                 @Param("amount") long amount);
 
     /**
      * Lock both accounts in alphabetical order to prevent deadlocks in INTERNAL_TRANSFER.
@@ -47,7 +60,8 @@ public interface AccountRepository extends JpaRepository<AccountEntity, String>
      * @param accountId2 second account ID (should be alphabetically second)
      * @return list of locked account IDs
      */
-    @Query(value = "SELECT account_id FROM accounts " +
+    @Query(value = "/* AccountRepository.lockAccountsInOrder */ " +
+                   "SELECT account_id FROM accounts " +
                    "WHERE account_id IN (:accountId1, :accountId2) " +
                    "ORDER BY account_id " +
                    "FOR UPDATE",
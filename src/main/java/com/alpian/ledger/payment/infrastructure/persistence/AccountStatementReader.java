@@ -0,0 +1,72 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.dto.StatementLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams an account's entries through a server-side cursor: PostgreSQL only honours the fetch
+ * size inside a transaction, so at most {@code fetchSize} rows are held in memory at a time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountStatementReader {
+
+    private static final String STATEMENT_QUERY = """
+            SELECT e.created_at, e.payment_id, p.type, e.direction, e.amount, e.balance_after,
+                   CASE WHEN e.direction = 'OUT' THEN p.to_account_id ELSE p.from_account_id END AS counterparty
+            FROM account_entries e
+            JOIN payments p ON p.payment_id = e.payment_id
+            WHERE e.account_id = ? AND e.created_at >= ? AND e.created_at < ?
+            ORDER BY e.created_at, e.payment_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.statement.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Emits the account's entries in {@code [from, to)} oldest first. Must run inside a transaction.
+     */
+    public void streamEntries(String accountId, Instant from, Instant to, Consumer<StatementLine> sink) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Statement streaming requires a transaction for the cursor to be used");
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STATEMENT_QUERY);
+            statement.setFetchSize(fetchSize);
+            statement.setString(1, accountId);
+            statement.setTimestamp(2, Timestamp.from(from));
+            statement.setTimestamp(3, Timestamp.from(to));
+            return statement;
+        }, (RowCallbackHandler) rs -> sink.accept(toLine(rs)));
+    }
+
+    private static StatementLine toLine(ResultSet rs) throws SQLException {
+        return new StatementLine(
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getObject("payment_id", UUID.class),
+                TransactionType.valueOf(rs.getString("type")),
+                EntryDirection.valueOf(rs.getString("direction")),
+                Money.ofMinor(rs.getLong("amount")),
+                Money.ofMinor(rs.getLong("balance_after")),
+                rs.getString("counterparty")
+        );
+    }
+}
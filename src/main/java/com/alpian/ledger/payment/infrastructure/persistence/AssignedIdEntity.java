@@ -0,0 +1,30 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Base for entities whose id is assigned by the application rather than the database.
+ * Without it Spring Data treats a non-null id as an existing row and {@code save()} issues
+ * a SELECT before every INSERT via {@code merge()}.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
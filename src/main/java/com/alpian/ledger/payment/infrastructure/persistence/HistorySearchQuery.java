@@ -0,0 +1,81 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.Timestamp;
+
+/**
+ * SQL for a filtered history search, composed from the criteria that are actually set so the
+ * planner sees plain equality and range predicates it can match to an index. Every criterion is
+ * on {@code account_entries}; {@code payments} is only joined by primary key for display columns.
+ */
+record HistorySearchQuery(String sql, MapSqlParameterSource params) {
+
+    private static final String SELECT_ENTRIES = """
+            SELECT e.account_id, e.seq, e.direction, e.balance_after, e.payment_id, e.type, p.from_account_id,
+                   p.to_account_id, e.amount, p.status, p.idempotency_key, e.created_at
+            FROM account_entries e
+            JOIN payments p ON p.payment_id = e.payment_id
+            """;
+
+    private static final String COUNT_ENTRIES = "SELECT COUNT(*) FROM account_entries e\n";
+
+    static HistorySearchQuery page(String accountId, HistoryFilter filter, HistoryCursor after, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT_ENTRIES);
+        appendCriteria(sql, params, accountId, filter);
+        if (after != null) {
+            sql.append("AND (e.created_at, e.payment_id) < (:afterCreatedAt, :afterPaymentId)\n");
+            params.addValue("afterCreatedAt", Timestamp.from(after.createdAt()));
+            params.addValue("afterPaymentId", after.paymentId());
+        }
+        sql.append("ORDER BY e.created_at DESC, e.payment_id DESC\n");
+        sql.append("LIMIT :limit OFFSET :offset");
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+        return new HistorySearchQuery(sql.toString(), params);
+    }
+
+    static HistorySearchQuery count(String accountId, HistoryFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(COUNT_ENTRIES);
+        appendCriteria(sql, params, accountId, filter);
+        return new HistorySearchQuery(sql.toString(), params);
+    }
+
+    private static void appendCriteria(StringBuilder sql, MapSqlParameterSource params,
+                                       String accountId, HistoryFilter filter) {
+        sql.append("WHERE e.account_id = :accountId\n");
+        params.addValue("accountId", accountId);
+        if (filter.type() != null) {
+            sql.append("AND e.type = :type\n");
+            params.addValue("type", filter.type().name());
+        }
+        if (filter.direction() != null) {
+            sql.append("AND e.direction = :direction\n");
+            params.addValue("direction", filter.direction().name());
+        }
+        if (filter.minAmount() != null) {
+            sql.append("AND e.amount >= :minAmount\n");
+            params.addValue("minAmount", filter.minAmount().minorUnits());
+        }
+        if (filter.maxAmount() != null) {
+            sql.append("AND e.amount <= :maxAmount\n");
+            params.addValue("maxAmount", filter.maxAmount().minorUnits());
+        }
+        if (filter.from() != null) {
+            sql.append("AND e.created_at >= :createdFrom\n");
+            params.addValue("createdFrom", Timestamp.from(filter.createdFrom()));
+        }
+        if (filter.to() != null) {
+            sql.append("AND e.created_at < :createdBefore\n");
+            params.addValue("createdBefore", Timestamp.from(filter.createdBefore()));
+        }
+        if (filter.counterpartyAccountId() != null) {
+            sql.append("AND e.counterparty_account_id = :counterparty\n");
+            params.addValue("counterparty", filter.counterpartyAccountId());
+        }
+    }
+}
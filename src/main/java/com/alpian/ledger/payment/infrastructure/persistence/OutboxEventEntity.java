@@ -11,6 +11,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "outbox_events")
@@ -19,15 +20,14 @@ import java.time.Instant;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class OutboxEventEntity {
+public class OutboxEventEntity extends AssignedIdEntity<UUID> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "event_id")
-    private String eventId;
+    private UUID eventId;
 
     @Column(name = "aggregate_id", nullable = false)
-    private String aggregateId;
+    private UUID aggregateId;
 
     @Column(name = "partition_key", nullable = false)
     private String partitionKey;
@@ -50,11 +50,17 @@ public class OutboxEventEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
-    public OutboxEventEntity(String aggregateId, String partitionKey, String type, String payload) {
+    public OutboxEventEntity(UUID eventId, UUID aggregateId, String partitionKey, String type, String payload) {
+        this.eventId = eventId;
         this.aggregateId = aggregateId;
         this.partitionKey = partitionKey;
         this.type = type;
         this.payload = payload;
         this.status = EventStatus.NEW;
     }
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
 }
@@ -5,10 +5,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, String> {
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, UUID> {
     List<OutboxEventEntity> findByStatusOrderByCreatedAtAsc(EventStatus status);
-    List<OutboxEventEntity> findByAggregateId(String aggregateId);
+    List<OutboxEventEntity> findByAggregateId(UUID aggregateId);
     List<OutboxEventEntity> findByStatus(EventStatus status);
 }
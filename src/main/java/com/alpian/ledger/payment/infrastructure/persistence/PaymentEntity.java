@@ -7,12 +7,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
 @Table(name = "payments")
@@ -21,11 +20,11 @@ import java.time.Instant;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class PaymentEntity {
+public class PaymentEntity extends AssignedIdEntity<UUID> {
 
     @Id
     @Column(name = "payment_id")
-    private String paymentId;
+    private UUID paymentId;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false)
@@ -37,8 +36,11 @@ public class PaymentEntity {
     @Column(name = "to_account_id")
     private String toAccountId;
 
-    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    /**
+     * Amount in minor units (see {@link com.alpian.ledger.payment.domain.Money})
+     */
+    @Column(name = "amount", nullable = false)
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
@@ -47,11 +49,18 @@ public class PaymentEntity {
     @Column(name = "idempotency_key", nullable = false, unique = true)
     private String idempotencyKey;
 
-    @CreatedDate
+    /**
+     * Assigned from the domain payment so the matching account entries share the same timestamp
+     */
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    @Override
+    public UUID getId() {
+        return paymentId;
+    }
 }
@@ -1,19 +1,22 @@
 package com.alpian.ledger.payment.infrastructure.persistence;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<PaymentEntity, String> {
-    Optional<PaymentEntity> findByIdempotencyKey(String idempotencyKey);
+public interface PaymentRepository extends JpaRepository<PaymentEntity, UUID> {
 
-    @Query("SELECT p FROM PaymentEntity p WHERE p.fromAccountId = :accountId OR p.toAccountId = :accountId " +
-           "ORDER BY p.createdAt DESC")
-    Page<PaymentEntity> findByAccountId(@Param("accountId") String accountId, Pageable pageable);
+    /**
+     * Idempotency check run first by every payment. Native so that the statement carries its name
+     * for {@code SqlStatementListener} and the payment path passes through no repository advice.
+     */
+    @Query(value = "/* PaymentRepository.findByIdempotencyKey */ " +
+                   "SELECT * FROM payments WHERE idempotency_key = :idempotencyKey",
+           nativeQuery = true)
+    Optional<PaymentEntity> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
 }
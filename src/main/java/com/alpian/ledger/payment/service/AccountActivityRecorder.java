@@ -0,0 +1,25 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.infrastructure.persistence.AccountDailyStatsRepository;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Folds each payment's entries into the daily activity rollup inside the payment transaction, so
+ * the rollup commits or rolls back with the payment. Running just before commit keeps the rollup
+ * row locked only for the commit itself rather than for the whole payment.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountActivityRecorder {
+
+    private final AccountDailyStatsRepository dailyStatsRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBalancesChanged(AccountBalancesChangedEvent event) {
+        dailyStatsRepository.increment(event.entries());
+    }
+}
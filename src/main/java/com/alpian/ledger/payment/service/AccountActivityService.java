@@ -0,0 +1,47 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.infrastructure.persistence.AccountDailyStatsRepository;
+import com.alpian.ledger.payment.service.dto.ActivityGranularity;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountActivityService {
+
+    private final AccountDailyStatsRepository dailyStatsRepository;
+    private final AccountService accountService;
+
+    /**
+     * Inflow, outflow and entry counts per UTC day or month in {@code [from, to]}, oldest first.
+     * Periods without activity are omitted. Served from the rollup, so the cost depends on the
+     * number of days in the range, not on the number of payments.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "account.activity.fetch", description = "Time taken to read account activity rollups")
+    public List<ActivityPeriod> getActivity(String accountId, ActivityGranularity granularity,
+                                            LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Activity 'from' date must not be after 'to' date");
+        }
+        log.info("Fetching {} activity for account {} from {} to {}", granularity, accountId, from, to);
+
+        List<ActivityPeriod> periods = switch (granularity) {
+            case DAY -> dailyStatsRepository.findDaily(accountId, from, to);
+            case MONTH -> dailyStatsRepository.findMonthly(accountId, from.withDayOfMonth(1), to);
+        };
+
+        if (periods.isEmpty()) {
+            accountService.requireAccountExists(accountId);
+        }
+        return periods;
+    }
+}
@@ -1,31 +1,133 @@
 package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.cache.AccountCache;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadConsistency;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadOnlyTransactions;
 import com.alpian.ledger.payment.infrastructure.mapper.AccountMapper;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final AccountMapper accountMapper;
+    private final AccountCache accountCache;
+    private final ReadOnlyTransactions readOnlyTransactions;
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link AccountCache}; not transactional so that cache hits never borrow a
+     * connection, and loads open their own read-only transaction. Misses load from the primary, so a
+     * lagging replica never refills the cache with a balance that was just invalidated. Reads
+     * carrying a consistency token skip the cache, which may not have seen another node's write yet,
+     * and are served by the replica once it has replayed the token.
+     */
     @Timed(value = "account.fetch", description = "Time taken to fetch account details")
     public Account getAccount(String accountId) {
         log.info("Fetching account details for {}", accountId);
+        if (ReadConsistency.hasRequirement()) {
+            return readOnlyTransactions.execute(() -> loadAccount(accountId));
+        }
+        return accountCache.get(accountId,
+                id -> ReadConsistency.onPrimary(() -> readOnlyTransactions.execute(() -> loadAccount(id))));
+    }
+
+    /**
+     * Version probe for conditional GETs: served by {@link #getAccount}, so a cache hit costs no
+     * query and a miss is a single primary key lookup.
+     */
+    public long getVersion(String accountId) {
+        return getAccount(accountId).version();
+    }
+
+    /**
+     * Batch counterpart of {@link #getAccount} with the same caching and consistency rules; every
+     * id not served from the cache is loaded by one {@code account_id = ANY(?)} query.
+     * @return the accounts that exist, keyed by id; unknown ids are simply absent
+     */
+    @Timed(value = "account.fetch.batch", description = "Time taken to fetch a batch of accounts")
+    public Map<String, Account> getAccounts(Collection<String> accountIds) {
+        log.info("Fetching {} accounts", accountIds.size());
+        if (ReadConsistency.hasRequirement()) {
+            return readOnlyTransactions.execute(() -> loadAccounts(accountIds));
+        }
+        return accountCache.getAll(accountIds,
+                ids -> ReadConsistency.onPrimary(() -> readOnlyTransactions.execute(() -> loadAccounts(ids))));
+    }
+
+    private Account loadAccount(String accountId) {
         AccountEntity accountEntity = accountRepository.findByAccountId(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
         return accountMapper.toDomain(accountEntity);
     }
+
+    private Map<String, Account> loadAccounts(Collection<? extends String> accountIds) {
+        return accountRepository.findAllByAccountIdIn(accountIds.toArray(String[]::new)).stream()
+                .map(accountMapper::toDomain)
+                .collect(Collectors.toMap(Account::accountId, Function.identity()));
+    }
+
+    /**
+     * Balance of the account at {@code asOf}, read from the {@code balance_after} recorded on its
+     * entries: at most three single-row primary key lookups, however long the history.
+     * <ol>
+     *   <li>the latest entry at or before {@code asOf} holds the balance directly;</li>
+     *   <li>otherwise the earliest later entry, with its own movement undone, gives the opening balance;</li>
+     *   <li>an account without entries has had its current balance all along.</li>
+     * </ol>
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "account.balance.as_of", description = "Time taken to compute a point-in-time balance")
+    public Money getBalanceAsOf(String accountId, Instant asOf) {
+        log.info("Fetching balance of account {} as of {}", accountId, asOf);
+        PageRequest first = PageRequest.ofSize(1);
+
+        List<AccountEntryEntity> atOrBefore = accountEntryRepository.findLatestAtOrBefore(accountId, asOf, first);
+        if (!atOrBefore.isEmpty()) {
+            return Money.ofMinor(atOrBefore.getFirst().getBalanceAfter());
+        }
+
+        List<AccountEntryEntity> after = accountEntryRepository.findEarliestAfter(accountId, asOf, first);
+        if (!after.isEmpty()) {
+            AccountEntryEntity entry = after.getFirst();
+            long movement = entry.getDirection() == EntryDirection.IN ? entry.getAmount() : -entry.getAmount();
+            return Money.ofMinor(entry.getBalanceAfter() - movement);
+        }
+
+        return loadAccount(accountId).balance();
+    }
+
+    /**
+     * Existence probe for callers that only need a not-found check: a primary key lookup
+     * without loading or mapping the account row.
+     */
+    @Transactional(readOnly = true)
+    public void requireAccountExists(String accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        }
+    }
 }
 
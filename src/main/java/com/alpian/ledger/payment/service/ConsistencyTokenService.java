@@ -0,0 +1,33 @@
+package com.alpian.ledger.payment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Issues read-your-writes tokens: the primary's WAL position right after a write committed.
+ * Clients echo it in the {@code Consistency-Token} header so later reads only use a replica that
+ * has replayed that far.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsistencyTokenService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ledger.read-replica.enabled:false}")
+    private boolean readReplicaEnabled;
+
+    /**
+     * Must be called after the write transaction committed; empty when reads are not routed to a replica.
+     */
+    public Optional<String> currentToken() {
+        if (!readReplicaEnabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+    }
+}
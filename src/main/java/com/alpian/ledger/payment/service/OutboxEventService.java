@@ -2,12 +2,12 @@ package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.domain.EventStatus;
 import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
 import com.alpian.ledger.payment.infrastructure.persistence.OutboxEventEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.OutboxEventRepository;
 import com.alpian.ledger.payment.service.dto.PaymentCompletedEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +29,9 @@ public class OutboxEventService {
     private final OutboxEventRepository outboxEventRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final IdGenerator idGenerator;
 
     @Transactional
-    @Timed(value = "outbox.publish", description = "Time taken to publish payment event to outbox")
-    @Counted(value = "outbox.publish.count", description = "Number of events published to outbox")
     public void publishPaymentEvent(Payment payment) {
         PaymentCompletedEvent event = createPaymentCompletedEvent(payment);
         String eventPayload = serializeEvent(event);
@@ -40,7 +40,6 @@ public class OutboxEventService {
         OutboxEventEntity outboxEvent = createOutboxEvent(payment, partitionKey, eventPayload);
         outboxEventRepository.save(outboxEvent);
 
-
         log.info("Payment event for {} ({}) published to outbox with partition key {}",
                  payment.getPaymentId(), payment.getType(), partitionKey);
     }
@@ -66,6 +65,7 @@ public class OutboxEventService {
 
     private OutboxEventEntity createOutboxEvent(Payment payment, String partitionKey, String eventPayload) {
         return new OutboxEventEntity(
+                idGenerator.newId(),
                 payment.getPaymentId(),
                 partitionKey,
                 "PaymentCompleted",
@@ -103,7 +103,7 @@ public class OutboxEventService {
     }
 
     @Transactional
-    public void markEventAsSent(String eventId) {
+    public void markEventAsSent(UUID eventId) {
         outboxEventRepository.findById(eventId).ifPresent(event -> {
             event.setStatus(EventStatus.SENT);
             outboxEventRepository.save(event);
@@ -111,7 +111,7 @@ public class OutboxEventService {
     }
 
     @Transactional
-    public void markEventAsFailed(String eventId, String errorMessage) {
+    public void markEventAsFailed(UUID eventId, String errorMessage) {
         outboxEventRepository.findById(eventId).ifPresent(event -> {
             event.setStatus(EventStatus.FAILED);
             outboxEventRepository.save(event);
@@ -1,26 +1,47 @@
 package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
 import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.IdempotencyConflictException;
+import com.alpian.ledger.payment.infrastructure.cache.PaymentHistoryCache;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadConsistency;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadOnlyTransactions;
+import com.alpian.ledger.payment.infrastructure.jfr.IdempotencyCheckEvent;
+import com.alpian.ledger.payment.infrastructure.jfr.PaymentProfiler;
+import com.alpian.ledger.payment.infrastructure.jfr.StrategyExecutionEvent;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
-import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
+import com.alpian.ledger.payment.infrastructure.metrics.HotAccountSketch;
+import com.alpian.ledger.payment.infrastructure.metrics.PaymentMetrics;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryView;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.*;
+import com.alpian.ledger.payment.service.dto.AccountChanges;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
 import com.alpian.ledger.payment.service.strategy.PaymentStrategy;
 import com.alpian.ledger.payment.service.strategy.PaymentStrategyFactory;
-import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,41 +49,231 @@ import org.springframework.validation.annotation.Validated;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final OutboxEventService outboxEventService;
     private final PaymentMapper paymentMapper;
     private final PaymentStrategyFactory strategyFactory;
     private final AccountService accountService;
+    private final PaymentHistoryCache historyCache;
+    private final AccountEntrySearchRepository accountEntrySearchRepository;
+    private final HotAccountSketch hotAccounts;
+    private final PaymentMetrics paymentMetrics;
+    private final ReadOnlyTransactions readOnlyTransactions;
 
+    /**
+     * Timed through {@link PaymentMetrics} rather than {@code @Timed}, so the timers carry the
+     * transaction type and outcome without an aspect on the payment path. The outcome is taken
+     * from whether the transaction committed, since the INSERTs are only flushed then. Each stage
+     * also emits a Flight Recorder event (see {@link PaymentProfiler}).
+     */
     @Transactional
-    @Timed(value = "payment.create", description = "Time taken to create a payment", extraTags = {"type", "#{#request.type().name()}"})
-    @Counted(value = "payment.create.count", description = "Number of payment creation attempts")
     public Payment createPayment(@Valid @NotNull CreatePaymentRequest request, @NotNull String idempotencyKey) {
-        log.info("Creating {} transaction with idempotency key {}",
-                 request.type(), idempotencyKey);
-        validateIdempotency(idempotencyKey);
-        PaymentStrategy strategy = strategyFactory.getStrategy(request.type());
-        Payment payment = strategy.execute(request, idempotencyKey);
-        outboxEventService.publishPaymentEvent(payment);
-        log.info("Payment {} ({}) created successfully", payment.getPaymentId(), request.type());
-        return payment;
+        TransactionType type = request.type();
+        PaymentMetrics.PaymentAttempt attempt = paymentMetrics.paymentStarted(type);
+        log.info("Creating {} transaction with idempotency key {}", type, idempotencyKey);
+        try (PaymentProfiler.Scope profile = PaymentProfiler.start(type, request.fromAccountId(), request.toAccountId())) {
+            validateIdempotency(idempotencyKey);
+            PaymentStrategy strategy = strategyFactory.getStrategy(type);
+            hotAccounts.record(request.fromAccountId());
+            hotAccounts.record(request.toAccountId());
+
+            long strategyStart = System.nanoTime();
+            Payment payment = execute(strategy, request, idempotencyKey);
+            paymentMetrics.strategyExecuted(type, strategyStart);
+
+            long publishStart = System.nanoTime();
+            outboxEventService.publishPaymentEvent(payment);
+            paymentMetrics.outboxPublished(publishStart);
+
+            attempt.succeeded();
+            log.info("Payment {} ({}) created successfully", payment.getPaymentId(), type);
+            return payment;
+        } catch (RuntimeException e) {
+            attempt.failed(e);
+            throw e;
+        }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * The first page is served from {@link PaymentHistoryCache} when it fits in the cached depth;
+     * deeper pages query the database, which may be a read replica. Not transactional so that cache
+     * hits never borrow a connection; only the database branch opens a read-only transaction.
+     */
     @Timed(value = "payment.history.fetch", description = "Time taken to fetch payment history")
-    public Page<Payment> getPaymentHistory(@NotNull String accountId, Pageable pageable) {
+    public Page<AccountEntry> getPaymentHistory(@NotNull String accountId, Pageable pageable) {
         log.info("Fetching payment history for account {} with page {}", accountId, pageable.getPageNumber());
 
-        Page<PaymentEntity> paymentEntities = paymentRepository.findByAccountId(accountId, pageable);
+        if (pageable.getPageNumber() == 0 && pageable.getSort().isUnsorted()
+                && pageable.getPageSize() <= historyCache.depth() && !ReadConsistency.hasRequirement()) {
+            PaymentHistoryCache.Snapshot snapshot = cachedHistorySnapshot(accountId);
+            return new PageImpl<>(firstEntries(snapshot, pageable.getPageSize()), pageable, snapshot.totalEntries());
+        }
+
+        return readOnlyTransactions.execute(() -> {
+            Page<AccountEntryView> entries = accountEntryRepository.findByAccountId(accountId, pageable);
+
+            if (entries.isEmpty()) {
+                accountService.requireAccountExists(accountId);
+            }
+            return entries.map(paymentMapper::toDomain);
+        });
+    }
+
+    /**
+     * Keyset variant of {@link #getPaymentHistory(String, Pageable)}: returns the entries older than
+     * {@code cursor} (or the newest ones when it is null) without running a count query.
+     */
+    @Timed(value = "payment.history.seek", description = "Time taken to fetch a keyset page of payment history")
+    public Slice<AccountEntry> getPaymentHistory(@NotNull String accountId, HistoryCursor cursor, int size) {
+        log.info("Fetching payment history for account {} after cursor {}", accountId, cursor);
+
+        if (cursor == null && size <= historyCache.depth() && !ReadConsistency.hasRequirement()) {
+            PaymentHistoryCache.Snapshot snapshot = cachedHistorySnapshot(accountId);
+            return new SliceImpl<>(firstEntries(snapshot, size), PageRequest.ofSize(size),
+                                   snapshot.totalEntries() > size);
+        }
+
+        return readOnlyTransactions.execute(() -> {
+            // One extra row tells us whether another page exists
+            Pageable limit = PageRequest.ofSize(size + 1);
+            List<AccountEntryView> entries = cursor == null
+                    ? accountEntryRepository.findLatestByAccountId(accountId, limit)
+                    : accountEntryRepository.findByAccountIdBefore(accountId, cursor.createdAt(), cursor.paymentId(), limit);
+
+            if (entries.isEmpty()) {
+                accountService.requireAccountExists(accountId);
+            }
+
+            boolean hasNext = entries.size() > size;
+            List<AccountEntry> page = entries.stream()
+                    .limit(size)
+                    .map(paymentMapper::toDomain)
+                    .toList();
+            return new SliceImpl<>(page, PageRequest.ofSize(size), hasNext);
+        });
+    }
+
+    /**
+     * Filtered variant of {@link #getPaymentHistory(String, Pageable)}. Never cached: one search
+     * query, plus a count only when the page does not already reveal the total.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "payment.history.search", description = "Time taken to search payment history")
+    public Page<AccountEntry> searchPaymentHistory(@NotNull String accountId, @NotNull HistoryFilter filter,
+                                                   Pageable pageable) {
+        log.info("Searching payment history for account {} with {} - page: {}", accountId, filter, pageable.getPageNumber());
+
+        List<AccountEntryView> rows = accountEntrySearchRepository.search(
+                accountId, filter, null, pageable.getOffset(), pageable.getPageSize());
+
+        if (rows.isEmpty()) {
+            accountService.requireAccountExists(accountId);
+        }
+        List<AccountEntry> entries = rows.stream()
+                .map(paymentMapper::toDomain)
+                .toList();
+        return PageableExecutionUtils.getPage(entries, pageable,
+                () -> accountEntrySearchRepository.count(accountId, filter));
+    }
+
+    /**
+     * Filtered keyset variant of {@link #getPaymentHistory(String, HistoryCursor, int)}.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "payment.history.search", description = "Time taken to search payment history")
+    public Slice<AccountEntry> searchPaymentHistory(@NotNull String accountId, @NotNull HistoryFilter filter,
+                                                    HistoryCursor cursor, int size) {
+        log.info("Searching payment history for account {} with {} after cursor {}", accountId, filter, cursor);
+
+        // One extra row tells us whether another page exists
+        List<AccountEntryView> rows = accountEntrySearchRepository.search(accountId, filter, cursor, 0, size + 1);
+
+        if (rows.isEmpty()) {
+            accountService.requireAccountExists(accountId);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<AccountEntry> page = rows.stream()
+                .limit(size)
+                .map(paymentMapper::toDomain)
+                .toList();
+        return new SliceImpl<>(page, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * Entries recorded for the account after sequence {@code since}, oldest first, at most
+     * {@code limit} of them. Sequence numbers are taken while the account row is locked by the
+     * balance update, so within one account they are assigned in commit order and a client never
+     * skips an entry by advancing to the last sequence it received.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "payment.history.changes", description = "Time taken to fetch account changes since a sequence")
+    public AccountChanges getChangesSince(@NotNull String accountId, long since, int limit) {
+        log.debug("Fetching changes for account {} since {}", accountId, since);
 
-        if (paymentEntities.isEmpty()) {
-            //Throws account not found error if account doesn't exist
-            accountService.getAccount(accountId);
+        // One extra row tells us whether the client should ask again straight away
+        List<AccountEntryView> rows = accountEntryRepository.findByAccountIdAfterSeq(
+                accountId, since, PageRequest.ofSize(limit + 1));
+
+        if (rows.isEmpty()) {
+            accountService.requireAccountExists(accountId);
+            return new AccountChanges(List.of(), since, false);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<AccountEntryView> batch = hasMore ? rows.subList(0, limit) : rows;
+        List<AccountEntry> entries = batch.stream()
+                .map(paymentMapper::toDomain)
+                .toList();
+        return new AccountChanges(entries, batch.get(batch.size() - 1).seq(), hasMore);
+    }
+
+    /**
+     * Snapshots load from the primary so a lagging replica cannot cache entries older than what
+     * after-commit inserts have already seen; reads with a consistency token bypass the cache.
+     */
+    private PaymentHistoryCache.Snapshot cachedHistorySnapshot(String accountId) {
+        return historyCache.get(accountId, id -> ReadConsistency.onPrimary(
+                () -> readOnlyTransactions.execute(() -> loadHistorySnapshot(id))));
+    }
+
+    private PaymentHistoryCache.Snapshot loadHistorySnapshot(String accountId) {
+        int depth = historyCache.depth();
+        List<AccountEntry> newest = accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(depth))
+                .stream()
+                .map(paymentMapper::toDomain)
+                .toList();
+
+        if (newest.isEmpty()) {
+            accountService.requireAccountExists(accountId);
+        }
+        // Only count when the account has more entries than fit in the snapshot
+        long totalEntries = newest.size() < depth ? newest.size() : accountEntryRepository.countByAccountId(accountId);
+        return new PaymentHistoryCache.Snapshot(newest, totalEntries);
+    }
+
+    private static List<AccountEntry> firstEntries(PaymentHistoryCache.Snapshot snapshot, int size) {
+        List<AccountEntry> newest = snapshot.newest();
+        return newest.subList(0, Math.min(size, newest.size()));
+    }
+
+    private Payment execute(PaymentStrategy strategy, CreatePaymentRequest request, String idempotencyKey) {
+        StrategyExecutionEvent event = PaymentProfiler.begin(new StrategyExecutionEvent());
+        try {
+            return strategy.execute(request, idempotencyKey);
+        } finally {
+            event.commit();
         }
-        return paymentEntities.map(paymentMapper::toDomain);
     }
 
     private void validateIdempotency(String idempotencyKey) {
-        var existingPayment = paymentRepository.findByIdempotencyKey(idempotencyKey);
+        IdempotencyCheckEvent event = PaymentProfiler.begin(new IdempotencyCheckEvent());
+        Optional<PaymentEntity> existingPayment;
+        try {
+            existingPayment = paymentRepository.findByIdempotencyKey(idempotencyKey);
+        } finally {
+            event.commit();
+        }
         if (existingPayment.isPresent()) {
             log.warn("Payment with idempotency key {} already exists", idempotencyKey);
             throw new IdempotencyConflictException("Payment with this idempotency key already exists");
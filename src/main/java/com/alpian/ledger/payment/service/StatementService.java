@@ -0,0 +1,55 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.infrastructure.persistence.AccountStatementReader;
+import com.alpian.ledger.payment.service.dto.StatementLine;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementService {
+
+    private final AccountStatementReader statementReader;
+    private final AccountService accountService;
+
+    /**
+     * Validates an export up front, so that errors are reported before any statement output is written.
+     */
+    public void checkExportable(String accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Statement 'from' date must not be after 'to' date");
+        }
+        accountService.requireAccountExists(accountId);
+    }
+
+    /**
+     * Streams the account's entries for the UTC days {@code from}..{@code to} (inclusive) to
+     * {@code sink}, oldest first, and returns the number of lines written.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "account.statement.export", description = "Time taken to stream an account statement")
+    public long exportStatement(String accountId, LocalDate from, LocalDate to, Consumer<StatementLine> sink) {
+        log.info("Exporting statement for account {} from {} to {}", accountId, from, to);
+
+        long[] lines = {0};
+        statementReader.streamEntries(
+                accountId,
+                from.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                line -> {
+                    sink.accept(line);
+                    lines[0]++;
+                });
+
+        log.info("Exported {} statement lines for account {}", lines[0], accountId);
+        return lines[0];
+    }
+}
@@ -0,0 +1,17 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+
+import java.util.List;
+
+/**
+ * In-process notification carrying the account entries a payment wrote.
+ * Published by the payment strategies inside the payment transaction; folded into the activity
+ * rollup just before commit and applied to the caches after it.
+ */
+public record AccountBalancesChangedEvent(List<AccountEntry> entries) {
+
+    public static AccountBalancesChangedEvent of(AccountEntry... entries) {
+        return new AccountBalancesChangedEvent(List.of(entries));
+    }
+}
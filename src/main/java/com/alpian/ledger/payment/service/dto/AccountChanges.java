@@ -0,0 +1,13 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+
+import java.util.List;
+
+/**
+ * Entries recorded for an account after a client-held sequence number, oldest first.
+ * {@code nextSince} is the sequence of the last entry returned (or the requested one when nothing
+ * is new) and is what the client sends on its next sync; {@code hasMore} means the limit cut the
+ * batch short.
+ */
+public record AccountChanges(List<AccountEntry> entries, long nextSince, boolean hasMore) {}
@@ -0,0 +1,16 @@
+package com.alpian.ledger.payment.service.dto;
+
+import java.util.Locale;
+
+public enum ActivityGranularity {
+    DAY,
+    MONTH;
+
+    public static ActivityGranularity parse(String granularity) {
+        try {
+            return valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported granularity: " + granularity + " (expected day or month)");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.Money;
+
+import java.time.LocalDate;
+
+/**
+ * Activity of one account over one day or month, read from the {@code account_daily_stats} rollup.
+ * {@code period} is the day, or the first day of the month.
+ */
+public record ActivityPeriod(
+        LocalDate period,
+        Money inflow,
+        Money outflow,
+        long inflowCount,
+        long outflowCount
+) {
+}
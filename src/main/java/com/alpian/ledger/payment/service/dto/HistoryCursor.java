@@ -0,0 +1,63 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.Payment;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in an account's payment history: the {@code (createdAt, paymentId)} of the
+ * last payment returned. Clients receive it as an opaque URL-safe token and send it back
+ * unchanged to fetch the next page.
+ */
+public record HistoryCursor(Instant createdAt, UUID paymentId) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+    // Years 1-9999: well inside both Instant's and Postgres' timestamp range
+    private static final Instant EARLIEST = Instant.parse("0001-01-01T00:00:00Z");
+    private static final Instant LATEST = Instant.parse("9999-12-31T23:59:59.999999999Z");
+
+    public static HistoryCursor of(Payment payment) {
+        return new HistoryCursor(payment.getCreatedAt(), payment.getPaymentId());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(paymentId.getMostSignificantBits())
+                .putLong(paymentId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static HistoryCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long epochSecond = buffer.getLong();
+        int nanos = buffer.getInt();
+        if (epochSecond < EARLIEST.getEpochSecond() || epochSecond > LATEST.getEpochSecond()
+                || nanos < 0 || nanos > LATEST.getNano()) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        Instant createdAt;
+        try {
+            createdAt = Instant.ofEpochSecond(epochSecond, nanos);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+        UUID paymentId = new UUID(buffer.getLong(), buffer.getLong());
+        return new HistoryCursor(createdAt, paymentId);
+    }
+}
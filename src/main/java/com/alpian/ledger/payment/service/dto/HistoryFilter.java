@@ -0,0 +1,53 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Optional criteria for a payment history search; null components do not filter. Amounts and dates
+ * are inclusive, dates are UTC days.
+ */
+public record HistoryFilter(
+        TransactionType type,
+        EntryDirection direction,
+        Money minAmount,
+        Money maxAmount,
+        LocalDate from,
+        LocalDate to,
+        String counterpartyAccountId
+) {
+
+    public static final HistoryFilter NONE = new HistoryFilter(null, null, null, null, null, null, null);
+
+    public HistoryFilter {
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+    }
+
+    public boolean isEmpty() {
+        return equals(NONE);
+    }
+
+    /**
+     * Inclusive lower bound on {@code created_at}, or null
+     */
+    public Instant createdFrom() {
+        return from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Exclusive upper bound on {@code created_at}, or null
+     */
+    public Instant createdBefore() {
+        return to == null ? null : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
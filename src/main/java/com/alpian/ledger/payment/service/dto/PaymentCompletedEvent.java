@@ -1,13 +1,14 @@
 package com.alpian.ledger.payment.service.dto;
 
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 /**
  * Event payload for payment completion notifications
@@ -17,11 +18,11 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PaymentCompletedEvent {
-    private String paymentId;
+    private UUID paymentId;
     private TransactionType type;
     private String fromAccountId;
     private String toAccountId;
-    private BigDecimal amount;
+    private Money amount;
     private PaymentStatus status;
     private Instant timestamp;
 }
@@ -0,0 +1,23 @@
+package com.alpian.ledger.payment.service.dto;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of an account statement, read straight from JDBC without building entities.
+ * {@code counterpartyAccountId} is null for DEBIT and CREDIT payments.
+ */
+public record StatementLine(
+        Instant createdAt,
+        UUID paymentId,
+        TransactionType type,
+        EntryDirection direction,
+        Money amount,
+        Money balanceAfter,
+        String counterpartyAccountId
+) {
+}
@@ -1,21 +1,24 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
-import io.micrometer.core.annotation.Timed;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
-
 /**
  * Strategy for CREDIT transactions - money in to an account (deposit)
  */
@@ -26,7 +29,11 @@ public class CreditPaymentStrategy implements PaymentStrategy {
 
     private final AccountRepository accountRepository;
     private final PaymentRepository paymentRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final PaymentMapper paymentMapper;
+    private final IdGenerator idGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountLockMonitor lockMonitor;
 
     @Override
     public TransactionType getType() {
@@ -34,32 +41,30 @@ public class CreditPaymentStrategy implements PaymentStrategy {
     }
 
     @Override
-    @Timed(value = "payment.strategy.credit", description = "Time taken to execute credit transaction")
     public Payment execute(CreatePaymentRequest request, String idempotencyKey) {
         String toAccountId = request.toAccountId();
-        BigDecimal amount = request.amount();
+        Money amount = request.amount();
 
         log.info("Executing CREDIT transaction: {} to account {}", amount, toAccountId);
 
-        creditBalance(toAccountId, amount);
-        Payment payment = createAndPersistPayment(toAccountId, amount, idempotencyKey);
+        Money balanceAfter = creditBalance(toAccountId, amount);
+        Payment payment = createAndPersistPayment(toAccountId, amount, idempotencyKey, balanceAfter);
 
         log.info("CREDIT transaction {} completed successfully", payment.getPaymentId());
         return payment;
     }
 
-    private void creditBalance(String toAccountId, BigDecimal amount) {
-        int updated = accountRepository.creditBalance(toAccountId, amount);
-
-        if (updated == 0) {
-            throw new AccountNotFoundException("Account not found: " + toAccountId);
-        }
+    private Money creditBalance(String toAccountId, Money amount) {
+        return lockMonitor.lockWait(TransactionType.CREDIT, "credit_balance",
+                        () -> accountRepository.creditBalance(toAccountId, amount.minorUnits()), toAccountId)
+                .map(Money::ofMinor)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + toAccountId));
     }
 
-    private Payment createAndPersistPayment(String toAccountId, BigDecimal amount, String idempotencyKey) {
-        String paymentId = UUID.randomUUID().toString();
+    private Payment createAndPersistPayment(String toAccountId, Money amount, String idempotencyKey,
+                                            Money balanceAfter) {
         Payment payment = new Payment(
-                paymentId,
+                idGenerator.newId(),
                 TransactionType.CREDIT,
                 null,
                 toAccountId,
@@ -70,6 +75,9 @@ public class CreditPaymentStrategy implements PaymentStrategy {
 
         PaymentEntity entity = paymentMapper.toEntity(payment);
         paymentRepository.save(entity);
+        AccountEntry entry = AccountEntry.in(payment, balanceAfter);
+        accountEntryRepository.save(paymentMapper.toEntity(entry));
+        eventPublisher.publishEvent(AccountBalancesChangedEvent.of(entry));
 
         return payment;
     }
@@ -1,22 +1,25 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
 import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
-import io.micrometer.core.annotation.Timed;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
-
 /**
  * Strategy for DEBIT transactions - money out from an account
  */
@@ -27,7 +30,11 @@ public class DebitPaymentStrategy implements PaymentStrategy {
 
     private final AccountRepository accountRepository;
     private final PaymentRepository paymentRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final PaymentMapper paymentMapper;
+    private final IdGenerator idGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountLockMonitor lockMonitor;
 
     @Override
     public TransactionType getType() {
@@ -35,42 +42,40 @@ public class DebitPaymentStrategy implements PaymentStrategy {
     }
 
     @Override
-    @Timed(value = "payment.strategy.debit", description = "Time taken to execute debit transaction")
     public Payment execute(CreatePaymentRequest request, String idempotencyKey) {
         String fromAccountId = request.fromAccountId();
-        BigDecimal amount = request.amount();
+        Money amount = request.amount();
 
         log.info("Executing DEBIT transaction: {} from account {}", amount, fromAccountId);
 
-        deductBalance(fromAccountId, amount);
-        Payment payment = createAndPersistPayment(fromAccountId, amount, idempotencyKey);
+        Money balanceAfter = deductBalance(fromAccountId, amount);
+        Payment payment = createAndPersistPayment(fromAccountId, amount, idempotencyKey, balanceAfter);
 
         log.info("DEBIT transaction {} completed successfully", payment.getPaymentId());
         return payment;
     }
 
-    private void deductBalance(String fromAccountId, BigDecimal amount) {
-        int updated = accountRepository.deductBalance(fromAccountId, amount);
-
-        if (updated == 0) {
-            handleDeductionFailure(fromAccountId, amount);
-        }
+    private Money deductBalance(String fromAccountId, Money amount) {
+        return lockMonitor.lockWait(TransactionType.DEBIT, "deduct_balance",
+                        () -> accountRepository.deductBalance(fromAccountId, amount.minorUnits()), fromAccountId)
+                .map(Money::ofMinor)
+                .orElseThrow(() -> deductionFailure(fromAccountId, amount));
     }
 
-    private void handleDeductionFailure(String fromAccountId, BigDecimal amount) {
+    private RuntimeException deductionFailure(String fromAccountId, Money amount) {
         boolean accountExists = accountRepository.findByAccountId(fromAccountId).isPresent();
         if (!accountExists) {
-            throw new AccountNotFoundException("Account not found: " + fromAccountId);
+            return new AccountNotFoundException("Account not found: " + fromAccountId);
         } else {
-            throw new InsufficientFundsException(
+            return new InsufficientFundsException(
                 String.format("Insufficient funds in account %s for amount %s", fromAccountId, amount));
         }
     }
 
-    private Payment createAndPersistPayment(String fromAccountId, BigDecimal amount, String idempotencyKey) {
-        String paymentId = UUID.randomUUID().toString();
+    private Payment createAndPersistPayment(String fromAccountId, Money amount, String idempotencyKey,
+                                            Money balanceAfter) {
         Payment payment = new Payment(
-                paymentId,
+                idGenerator.newId(),
                 TransactionType.DEBIT,
                 fromAccountId,
                 null,
@@ -81,6 +86,9 @@ public class DebitPaymentStrategy implements PaymentStrategy {
 
         PaymentEntity entity = paymentMapper.toEntity(payment);
         paymentRepository.save(entity);
+        AccountEntry entry = AccountEntry.out(payment, balanceAfter);
+        accountEntryRepository.save(paymentMapper.toEntity(entry));
+        eventPublisher.publishEvent(AccountBalancesChangedEvent.of(entry));
 
         return payment;
     }
@@ -1,22 +1,26 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
 import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
-import io.micrometer.core.annotation.Timed;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Strategy for INTERNAL_TRANSFER transactions - between two accounts
@@ -29,7 +33,11 @@ public class InternalTransferPaymentStrategy implements PaymentStrategy {
 
     private final AccountRepository accountRepository;
     private final PaymentRepository paymentRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final PaymentMapper paymentMapper;
+    private final IdGenerator idGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountLockMonitor lockMonitor;
 
     @Override
     public TransactionType getType() {
@@ -37,17 +45,18 @@ public class InternalTransferPaymentStrategy implements PaymentStrategy {
     }
 
     @Override
-    @Timed(value = "payment.strategy.internal_transfer", description = "Time taken to execute internal transfer")
     public Payment execute(CreatePaymentRequest request, String idempotencyKey) {
         String fromAccountId = request.fromAccountId();
         String toAccountId = request.toAccountId();
-        BigDecimal amount = request.amount();
+        Money amount = request.amount();
 
         log.info("Executing INTERNAL_TRANSFER: {} from {} to {}", amount, fromAccountId, toAccountId);
 
         lockBothAccounts(fromAccountId, toAccountId);
-        performTransfer(fromAccountId, toAccountId, amount);
-        Payment payment = createAndPersistPayment(fromAccountId, toAccountId, amount, idempotencyKey);
+        Money fromBalanceAfter = deductFromSource(fromAccountId, amount);
+        Money toBalanceAfter = creditToDestination(toAccountId, amount);
+        Payment payment = createAndPersistPayment(fromAccountId, toAccountId, amount, idempotencyKey,
+                                                  fromBalanceAfter, toBalanceAfter);
 
         log.info("INTERNAL_TRANSFER {} completed successfully", payment.getPaymentId());
         return payment;
@@ -57,7 +66,9 @@ public class InternalTransferPaymentStrategy implements PaymentStrategy {
         String firstAccountId = fromAccountId.compareTo(toAccountId) < 0 ? fromAccountId : toAccountId;
         String secondAccountId = fromAccountId.compareTo(toAccountId) < 0 ? toAccountId : fromAccountId;
 
-        List<String> lockedAccounts = accountRepository.lockAccountsInOrder(firstAccountId, secondAccountId);
+        List<String> lockedAccounts = lockMonitor.lockWait(TransactionType.INTERNAL_TRANSFER, "lock_accounts",
+                () -> accountRepository.lockAccountsInOrder(firstAccountId, secondAccountId),
+                firstAccountId, secondAccountId);
 
         if (lockedAccounts.size() != 2) {
             validateBothAccountsExist(fromAccountId, toAccountId);
@@ -73,31 +84,26 @@ public class InternalTransferPaymentStrategy implements PaymentStrategy {
         }
     }
 
-    private void performTransfer(String fromAccountId, String toAccountId, BigDecimal amount) {
-        deductFromSource(fromAccountId, amount);
-        creditToDestination(toAccountId, amount);
+    private Money deductFromSource(String fromAccountId, Money amount) {
+        return lockMonitor.execution(TransactionType.INTERNAL_TRANSFER, "deduct_balance",
+                        () -> accountRepository.deductBalance(fromAccountId, amount.minorUnits()))
+                .map(Money::ofMinor)
+                .orElseThrow(() -> new InsufficientFundsException(
+                    String.format("Insufficient funds in account %s for transfer amount %s", fromAccountId, amount)));
     }
 
-    private void deductFromSource(String fromAccountId, BigDecimal amount) {
-        int deducted = accountRepository.deductBalance(fromAccountId, amount);
-        if (deducted == 0) {
-            throw new InsufficientFundsException(
-                String.format("Insufficient funds in account %s for transfer amount %s", fromAccountId, amount));
-        }
-    }
-
-    private void creditToDestination(String toAccountId, BigDecimal amount) {
-        int credited = accountRepository.creditBalance(toAccountId, amount);
-        if (credited == 0) {
-            throw new AccountNotFoundException("Account not found: " + toAccountId);
-        }
+    private Money creditToDestination(String toAccountId, Money amount) {
+        return lockMonitor.execution(TransactionType.INTERNAL_TRANSFER, "credit_balance",
+                        () -> accountRepository.creditBalance(toAccountId, amount.minorUnits()))
+                .map(Money::ofMinor)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + toAccountId));
     }
 
     private Payment createAndPersistPayment(String fromAccountId, String toAccountId,
-                                           BigDecimal amount, String idempotencyKey) {
-        String paymentId = UUID.randomUUID().toString();
+                                           Money amount, String idempotencyKey,
+                                           Money fromBalanceAfter, Money toBalanceAfter) {
         Payment payment = new Payment(
-                paymentId,
+                idGenerator.newId(),
                 TransactionType.INTERNAL_TRANSFER,
                 fromAccountId,
                 toAccountId,
@@ -108,6 +114,13 @@ public class InternalTransferPaymentStrategy implements PaymentStrategy {
 
         PaymentEntity entity = paymentMapper.toEntity(payment);
         paymentRepository.save(entity);
+        AccountEntry outEntry = AccountEntry.out(payment, fromBalanceAfter);
+        AccountEntry inEntry = AccountEntry.in(payment, toBalanceAfter);
+        accountEntryRepository.saveAll(List.of(
+                paymentMapper.toEntity(outEntry),
+                paymentMapper.toEntity(inEntry)
+        ));
+        eventPublisher.publishEvent(AccountBalancesChangedEvent.of(outEntry, inEntry));
 
         return payment;
     }
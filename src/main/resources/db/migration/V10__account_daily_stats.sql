@@ -0,0 +1,22 @@
+-- Per-account, per-UTC-day activity rollup, incremented in the payment transaction.
+-- Dashboards read days or months from here instead of aggregating account_entries on demand.
+CREATE TABLE account_daily_stats (
+    account_id VARCHAR(255) NOT NULL,
+    day DATE NOT NULL,
+    inflow BIGINT NOT NULL,
+    outflow BIGINT NOT NULL,
+    inflow_count INTEGER NOT NULL,
+    outflow_count INTEGER NOT NULL,
+    CONSTRAINT pk_account_daily_stats PRIMARY KEY (account_id, day),
+    CONSTRAINT fk_account_daily_stats_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+INSERT INTO account_daily_stats (account_id, day, inflow, outflow, inflow_count, outflow_count)
+SELECT account_id,
+       created_at::date,
+       COALESCE(SUM(amount) FILTER (WHERE direction = 'IN'), 0),
+       COALESCE(SUM(amount) FILTER (WHERE direction = 'OUT'), 0),
+       COUNT(*) FILTER (WHERE direction = 'IN'),
+       COUNT(*) FILTER (WHERE direction = 'OUT')
+FROM account_entries
+GROUP BY account_id, created_at::date;
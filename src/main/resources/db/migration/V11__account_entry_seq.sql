@@ -0,0 +1,18 @@
+-- Ledger-wide insertion sequence for the incremental sync feed. Existing entries are numbered in
+-- history order; new ones take the next identity value when inserted.
+ALTER TABLE account_entries ADD COLUMN seq BIGINT;
+
+UPDATE account_entries e
+SET seq = o.seq
+FROM (SELECT account_id, created_at, payment_id,
+             row_number() OVER (ORDER BY created_at, payment_id) AS seq
+      FROM account_entries) o
+WHERE o.account_id = e.account_id AND o.created_at = e.created_at AND o.payment_id = e.payment_id;
+
+ALTER TABLE account_entries ALTER COLUMN seq SET NOT NULL;
+ALTER TABLE account_entries ALTER COLUMN seq ADD GENERATED ALWAYS AS IDENTITY;
+SELECT setval(pg_get_serial_sequence('account_entries', 'seq'), COALESCE(MAX(seq), 0) + 1, false)
+FROM account_entries;
+
+-- A "changes since" request is one forward range scan from the client's last seq
+CREATE UNIQUE INDEX idx_account_entries_seq ON account_entries (account_id, seq);
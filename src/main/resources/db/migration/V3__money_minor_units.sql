@@ -0,0 +1,3 @@
+-- Store monetary amounts as a BIGINT count of minor units (cents) instead of DECIMAL(19, 2)
+ALTER TABLE accounts ALTER COLUMN balance TYPE BIGINT USING (balance * 100)::BIGINT;
+ALTER TABLE payments ALTER COLUMN amount TYPE BIGINT USING (amount * 100)::BIGINT;
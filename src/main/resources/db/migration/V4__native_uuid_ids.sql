@@ -0,0 +1,5 @@
+-- Store payment and outbox identifiers as native 16-byte uuid instead of VARCHAR(255).
+-- New ids are time-ordered UUIDv7 values, so inserts append to the right edge of the B-tree.
+ALTER TABLE payments ALTER COLUMN payment_id TYPE UUID USING payment_id::UUID;
+ALTER TABLE outbox_events ALTER COLUMN event_id TYPE UUID USING event_id::UUID;
+ALTER TABLE outbox_events ALTER COLUMN aggregate_id TYPE UUID USING aggregate_id::UUID;
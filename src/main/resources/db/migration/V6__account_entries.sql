@@ -0,0 +1,18 @@
+-- Per-account ledger entries: one row per account touched by a payment.
+-- The primary key doubles as the history index, so an account's history is a single range scan.
+CREATE TABLE account_entries (
+    account_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    payment_id UUID NOT NULL,
+    direction VARCHAR(3) NOT NULL,
+    amount BIGINT NOT NULL,
+    CONSTRAINT pk_account_entries PRIMARY KEY (account_id, created_at, payment_id),
+    CONSTRAINT fk_account_entry_account FOREIGN KEY (account_id) REFERENCES accounts(account_id),
+    CONSTRAINT fk_account_entry_payment FOREIGN KEY (payment_id) REFERENCES payments(payment_id),
+    CONSTRAINT chk_account_entry_direction CHECK (direction IN ('IN', 'OUT'))
+);
+
+INSERT INTO account_entries (account_id, created_at, payment_id, direction, amount)
+SELECT from_account_id, created_at, payment_id, 'OUT', amount FROM payments WHERE from_account_id IS NOT NULL
+UNION ALL
+SELECT to_account_id, created_at, payment_id, 'IN', amount FROM payments WHERE to_account_id IS NOT NULL;
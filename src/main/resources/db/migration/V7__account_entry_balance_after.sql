@@ -0,0 +1,23 @@
+-- Running balance per ledger entry, captured from the balance update's RETURNING clause.
+ALTER TABLE account_entries ADD COLUMN balance_after BIGINT;
+
+-- Backfill: walk each account's entries newest-first from the current balance,
+-- undoing every later entry to recover the balance right after this one.
+UPDATE account_entries e
+SET balance_after = r.balance_after
+FROM (
+    SELECT ae.account_id,
+           ae.created_at,
+           ae.payment_id,
+           a.balance - COALESCE(SUM(CASE ae.direction WHEN 'IN' THEN ae.amount ELSE -ae.amount END)
+               OVER (PARTITION BY ae.account_id
+                     ORDER BY ae.created_at DESC, ae.payment_id DESC
+                     ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS balance_after
+    FROM account_entries ae
+    JOIN accounts a ON a.account_id = ae.account_id
+) r
+WHERE e.account_id = r.account_id
+  AND e.created_at = r.created_at
+  AND e.payment_id = r.payment_id;
+
+ALTER TABLE account_entries ALTER COLUMN balance_after SET NOT NULL;
@@ -0,0 +1,4 @@
+-- Monotonic per-account version, bumped by every balance update.
+-- Backs the strong ETags of GET /accounts/{id} and the account's payment history:
+-- every new account entry moves the balance, so an unchanged version means unchanged history.
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
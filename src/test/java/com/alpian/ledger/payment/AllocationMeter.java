@@ -0,0 +1,33 @@
+package com.alpian.ledger.payment;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes an operation allocates on the calling thread. Work the operation hands to
+ * other threads is not included. Only the minimum over the measured runs is kept, after a warm-up
+ * long enough for the JIT to compile the path; escape analysis removes allocations only in
+ * compiled code. Taking the minimum filters out one-off noise such as lazy class initialization or
+ * statement cache misses.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    public static long minAllocatedBytes(int warmupRuns, int measuredRuns, Runnable operation) {
+        for (int i = 0; i < warmupRuns; i++) {
+            operation.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < measuredRuns; i++) {
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            operation.run();
+            min = Math.min(min, THREADS.getThreadAllocatedBytes(threadId) - before);
+        }
+        return min;
+    }
+}
@@ -1,34 +1,77 @@
 package com.alpian.ledger.payment.api;
 
+import com.alpian.ledger.payment.config.JacksonConfig;
 import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.service.AccountActivityService;
 import com.alpian.ledger.payment.service.AccountService;
+import com.alpian.ledger.payment.service.PaymentService;
+import com.alpian.ledger.payment.service.StatementService;
+import com.alpian.ledger.payment.service.dto.AccountChanges;
+import com.alpian.ledger.payment.service.dto.ActivityGranularity;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import com.alpian.ledger.payment.service.dto.StatementLine;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
+@Import({JacksonConfig.class, GlobalExceptionHandler.class})
 class AccountControllerTest {
 
+    private static final UUID PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001");
+    private static final LocalDate FROM = LocalDate.parse("2026-01-01");
+    private static final LocalDate TO = LocalDate.parse("2026-12-31");
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockitoBean
     private AccountService accountService;
 
+    @MockitoBean
+    private StatementService statementService;
+
+    @MockitoBean
+    private AccountActivityService activityService;
+
+    @MockitoBean
+    private PaymentService paymentService;
+
     @Test
     void shouldReturnAccountWhenAccountExists() throws Exception {
         // Given
-        Account account = new Account("ACC-001", new BigDecimal("1000.00"));
+        Account account = new Account("ACC-001", Money.parse("1000.00"), 0L);
         when(accountService.getAccount("ACC-001")).thenReturn(account);
 
         // When/Then
@@ -38,6 +81,30 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balance").value(1000.00));
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenAccountVersionMatchesETag() throws Exception {
+        // Given
+        when(accountService.getAccount("ACC-001")).thenReturn(new Account("ACC-001", Money.parse("1000.00"), 3L));
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnAccountWithNewETagWhenVersionChanged() throws Exception {
+        // Given
+        when(accountService.getAccount("ACC-001")).thenReturn(new Account("ACC-001", Money.parse("900.00"), 4L));
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.balance").value(900.00));
+    }
+
     @Test
     void shouldReturnBadRequestWhenAccountNotFound() throws Exception {
         // Given
@@ -49,5 +116,207 @@ class AccountControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("ACCOUNT_NOT_FOUND"));
     }
-}
 
+    @Test
+    void shouldReturnBatchOfAccountsInRequestedOrderWithMissingIdsReportedPerItem() throws Exception {
+        // Given
+        when(accountService.getAccounts(any())).thenReturn(Map.of(
+                "ACC-001", new Account("ACC-001", Money.parse("1000.00"), 0L),
+                "ACC-002", new Account("ACC-002", Money.parse("250.50"), 0L)));
+
+        // When/Then
+        mockMvc.perform(get("/accounts").param("ids", "ACC-002,ACC-999,ACC-001,ACC-002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(3))
+                .andExpect(jsonPath("$.accounts[0].accountId").value("ACC-002"))
+                .andExpect(jsonPath("$.accounts[0].balance").value(250.50))
+                .andExpect(jsonPath("$.accounts[1].accountId").value("ACC-999"))
+                .andExpect(jsonPath("$.accounts[1].error").value("ACCOUNT_NOT_FOUND"))
+                .andExpect(jsonPath("$.accounts[2].accountId").value("ACC-001"))
+                .andExpect(jsonPath("$.accounts[2].balance").value(1000.00));
+
+        verify(accountService).getAccounts(Set.of("ACC-001", "ACC-002", "ACC-999"));
+    }
+
+    @Test
+    void shouldRejectBatchOfMoreThanHundredAccounts() throws Exception {
+        // Given
+        String ids = IntStream.rangeClosed(1, 101)
+                .mapToObj(i -> "ACC-" + i)
+                .collect(Collectors.joining(","));
+
+        // When/Then
+        mockMvc.perform(get("/accounts").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(accountService, never()).getAccounts(any());
+    }
+
+    @Test
+    void shouldReturnChangesSinceSequence() throws Exception {
+        // Given
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key-1", Instant.parse("2026-02-08T09:00:00Z"));
+        payment.complete();
+        when(paymentService.getChangesSince("ACC-001", 41L, 100))
+                .thenReturn(new AccountChanges(List.of(AccountEntry.in(payment, Money.parse("1050.00"))), 57L, false));
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.since").value(41))
+                .andExpect(jsonPath("$.nextSince").value(57))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.payments.length()").value(1))
+                .andExpect(jsonPath("$.payments[0].direction").value("IN"))
+                .andExpect(jsonPath("$.payments[0].balanceAfter").value(1050.00));
+    }
+
+    @Test
+    void shouldRejectChangesLimitAboveMaximum() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/changes").param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void shouldReturnMonthlyStatsFromRollups() throws Exception {
+        // Given
+        LocalDate from = LocalDate.parse("2026-01-01");
+        LocalDate to = LocalDate.parse("2026-02-28");
+        when(activityService.getActivity("ACC-001", ActivityGranularity.MONTH, from, to)).thenReturn(List.of(
+                new ActivityPeriod(LocalDate.parse("2026-02-01"), Money.parse("50.00"), Money.parse("125.50"), 1, 3)));
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/stats")
+                        .param("granularity", "month")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-02-28"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("MONTH"))
+                .andExpect(jsonPath("$.periods.length()").value(1))
+                .andExpect(jsonPath("$.periods[0].period").value("2026-02-01"))
+                .andExpect(jsonPath("$.periods[0].inflow").value(50.00))
+                .andExpect(jsonPath("$.periods[0].outflow").value(125.50))
+                .andExpect(jsonPath("$.periods[0].outflowCount").value(3));
+    }
+
+    @Test
+    void shouldRejectUnsupportedStatsGranularity() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/stats").param("granularity", "week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+
+        verifyNoInteractions(activityService);
+    }
+
+    @Test
+    void shouldReturnBalanceAsOfInstant() throws Exception {
+        // Given
+        Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+        when(accountService.getBalanceAsOf("ACC-001", asOf)).thenReturn(Money.parse("975.00"));
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/balance").param("asOf", "2026-01-31T23:59:59Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value("ACC-001"))
+                .andExpect(jsonPath("$.balance").value(975.00));
+    }
+
+    @Test
+    void shouldRejectMalformedAsOf() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/balance").param("asOf", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verify(accountService, never()).getBalanceAsOf(any(), any());
+    }
+
+    @Test
+    void shouldStreamStatementAsNdjson() throws Exception {
+        // Given
+        stubStatement(new StatementLine(Instant.parse("2026-02-08T10:00:00Z"), PAYMENT_ID,
+                TransactionType.INTERNAL_TRANSFER, EntryDirection.OUT, Money.parse("75.00"), Money.parse("925.00"),
+                "ACC-002"));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/accounts/ACC-001/statement")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"createdAt\":\"2026-02-08T10:00:00Z\",\"paymentId\":\"" + PAYMENT_ID + "\"," +
+                        "\"type\":\"INTERNAL_TRANSFER\",\"direction\":\"OUT\",\"amount\":75.00," +
+                        "\"balanceAfter\":925.00,\"counterpartyAccountId\":\"ACC-002\"}\n"));
+        verify(statementService).checkExportable("ACC-001", FROM, TO);
+    }
+
+    @Test
+    void shouldStreamStatementAsCsv() throws Exception {
+        // Given
+        stubStatement(new StatementLine(Instant.parse("2026-02-08T10:00:00Z"), PAYMENT_ID,
+                TransactionType.CREDIT, EntryDirection.IN, Money.parse("50.00"), Money.parse("1050.00"), null));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/accounts/ACC-001/statement")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-12-31")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"ACC-001-statement-2026-01-01-2026-12-31.csv\""))
+                .andExpect(content().string(
+                        "createdAt,paymentId,type,direction,amount,balanceAfter,counterpartyAccountId\n" +
+                        "2026-02-08T10:00:00Z," + PAYMENT_ID + ",CREDIT,IN,50.00,1050.00,\n"));
+    }
+
+    @Test
+    void shouldRejectUnsupportedStatementFormat() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-001/statement")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-12-31")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+
+        verify(statementService, never()).exportStatement(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReportMissingAccountBeforeStreaming() throws Exception {
+        // Given
+        doThrow(new AccountNotFoundException("Account not found: ACC-999"))
+                .when(statementService).checkExportable("ACC-999", FROM, TO);
+
+        // When/Then
+        mockMvc.perform(get("/accounts/ACC-999/statement")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-12-31"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("ACCOUNT_NOT_FOUND"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStatement(StatementLine line) {
+        when(statementService.exportStatement(eq("ACC-001"), eq(FROM), eq(TO), any())).thenAnswer(invocation -> {
+            invocation.getArgument(3, Consumer.class).accept(line);
+            return 1L;
+        });
+    }
+}
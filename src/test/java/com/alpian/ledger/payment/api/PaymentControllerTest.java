@@ -2,12 +2,19 @@ package com.alpian.ledger.payment.api;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
 import com.alpian.ledger.payment.config.JacksonConfig;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
 import com.alpian.ledger.payment.exception.IdempotencyConflictException;
 import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.service.AccountService;
+import com.alpian.ledger.payment.service.ConsistencyTokenService;
 import com.alpian.ledger.payment.service.PaymentService;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,21 +24,28 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +53,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Import({JacksonConfig.class, GlobalExceptionHandler.class})
 class PaymentControllerTest {
 
+    private static final UUID PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000123");
+    private static final UUID CREDIT_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000456");
+    private static final UUID TRANSFER_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000789");
+    private static final UUID FIRST_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001");
+    private static final UUID SECOND_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000002");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -48,6 +68,12 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentService paymentService;
 
+    @MockitoBean
+    private ConsistencyTokenService consistencyTokenService;
+
+    @MockitoBean
+    private AccountService accountService;
+
     private UUID idempotencyKey;
     private CreatePaymentRequest debitRequest;
     private Payment mockPayment;
@@ -59,15 +85,15 @@ class PaymentControllerTest {
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00")
+                Money.parse("100.00")
         );
 
         mockPayment = new Payment(
-                "PAY-123",
+                PAYMENT_ID,
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00"),
+                Money.parse("100.00"),
                 idempotencyKey.toString(),
                 Instant.parse("2026-02-08T10:00:00Z")
         );
@@ -86,12 +112,38 @@ class PaymentControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(debitRequest)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.paymentId").value("PAY-123"))
+                .andExpect(jsonPath("$.paymentId").value(PAYMENT_ID.toString()))
                 .andExpect(jsonPath("$.type").value("DEBIT"))
                 .andExpect(jsonPath("$.fromAccountId").value("ACC-001"))
                 .andExpect(jsonPath("$.toAccountId").doesNotExist())
                 .andExpect(jsonPath("$.amount").value(100.00))
-                .andExpect(jsonPath("$.status").value("COMPLETED"));
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(header().doesNotExist("Consistency-Token"));
+    }
+
+    @Test
+    void shouldReturnConsistencyTokenWhenReadReplicaEnabled() throws Exception {
+        // Given
+        when(paymentService.createPayment(any(CreatePaymentRequest.class), eq(idempotencyKey.toString())))
+                .thenReturn(mockPayment);
+        when(consistencyTokenService.currentToken()).thenReturn(Optional.of("0/3000060"));
+
+        // When/Then
+        mockMvc.perform(post("/payments")
+                        .header("Idempotency-Key", idempotencyKey.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(debitRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Consistency-Token", "0/3000060"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenConsistencyTokenMalformed() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .header("Consistency-Token", "not-an-lsn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
     }
 
     @Test
@@ -101,15 +153,15 @@ class PaymentControllerTest {
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00")
+                Money.parse("50.00")
         );
 
         Payment creditPayment = new Payment(
-                "PAY-456",
+                CREDIT_PAYMENT_ID,
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00"),
+                Money.parse("50.00"),
                 idempotencyKey.toString(),
                 Instant.now()
         );
@@ -136,15 +188,15 @@ class PaymentControllerTest {
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00")
+                Money.parse("75.00")
         );
 
         Payment transferPayment = new Payment(
-                "PAY-789",
+                TRANSFER_PAYMENT_ID,
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00"),
+                Money.parse("75.00"),
                 idempotencyKey.toString(),
                 Instant.now()
         );
@@ -182,7 +234,7 @@ class PaymentControllerTest {
                 null,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00")
+                Money.parse("100.00")
         );
 
         // When/Then
@@ -200,7 +252,7 @@ class PaymentControllerTest {
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("-100.00")
+                Money.parse("-100.00")
         );
 
         // When/Then
@@ -211,6 +263,27 @@ class PaymentControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldReturnBadRequestWhenAmountHasMoreThanTwoDecimals() throws Exception {
+        // Given
+        String invalidJson = """
+                {
+                    "type": "DEBIT",
+                    "fromAccountId": "ACC-001",
+                    "amount": 10.001
+                }
+                """;
+
+        // When/Then
+        mockMvc.perform(post("/payments")
+                        .header("Idempotency-Key", idempotencyKey.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+        verify(paymentService, never()).createPayment(any(), any());
+    }
+
     @Test
     void shouldReturnBadRequestWhenInvalidEnumValue() throws Exception {
         // Given
@@ -278,19 +351,21 @@ class PaymentControllerTest {
     @Test
     void shouldReturnPagedHistoryWhenValidRequest() throws Exception {
         // Given
-        Payment payment1 = new Payment("PAY-1", TransactionType.DEBIT, "ACC-001", null,
-                new BigDecimal("100.00"), "key1", Instant.now());
+        Payment payment1 = new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.now());
         payment1.complete();
 
-        Payment payment2 = new Payment("PAY-2", TransactionType.CREDIT, null, "ACC-001",
-                new BigDecimal("50.00"), "key2", Instant.now());
+        Payment payment2 = new Payment(SECOND_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key2", Instant.now());
         payment2.complete();
 
         PageRequest pageRequest = PageRequest.of(0, 20);
-        Page<Payment> paymentPage = new PageImpl<>(Arrays.asList(payment1, payment2), pageRequest, 2);
+        Page<AccountEntry> entryPage = new PageImpl<>(
+                Arrays.asList(AccountEntry.out(payment1, Money.parse("900.00")),
+                        AccountEntry.in(payment2, Money.parse("950.00"))), pageRequest, 2);
 
         when(paymentService.getPaymentHistory(eq("ACC-001"), any()))
-                .thenReturn(paymentPage);
+                .thenReturn(entryPage);
 
         // When/Then
         mockMvc.perform(get("/payments/history/ACC-001")
@@ -298,10 +373,12 @@ class PaymentControllerTest {
                         .param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.payments", hasSize(2)))
-                .andExpect(jsonPath("$.payments[0].paymentId").value("PAY-1"))
+                .andExpect(jsonPath("$.payments[0].paymentId").value(FIRST_PAYMENT_ID.toString()))
                 .andExpect(jsonPath("$.payments[0].direction").value("OUT"))
-                .andExpect(jsonPath("$.payments[1].paymentId").value("PAY-2"))
+                .andExpect(jsonPath("$.payments[0].balanceAfter").value(900.00))
+                .andExpect(jsonPath("$.payments[1].paymentId").value(SECOND_PAYMENT_ID.toString()))
                 .andExpect(jsonPath("$.payments[1].direction").value("IN"))
+                .andExpect(jsonPath("$.payments[1].balanceAfter").value(950.00))
                 .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(20))
                 .andExpect(jsonPath("$.numberOfElements").value(2))
@@ -309,6 +386,114 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    void shouldTagHistoryWithAccountVersion() throws Exception {
+        // Given
+        when(accountService.getVersion("ACC-001")).thenReturn(7L);
+        when(paymentService.getPaymentHistory(eq("ACC-001"), any()))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingHistoryWhenETagMatches() throws Exception {
+        // Given
+        when(accountService.getVersion("ACC-001")).thenReturn(7L);
+
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""));
+
+        verify(paymentService, never()).getPaymentHistory(any(), any());
+    }
+
+    @Test
+    void shouldSearchHistoryWhenFiltersGiven() throws Exception {
+        // Given
+        HistoryFilter filter = new HistoryFilter(TransactionType.INTERNAL_TRANSFER, EntryDirection.OUT,
+                Money.parse("10.00"), Money.parse("500.00"), LocalDate.parse("2026-01-01"),
+                LocalDate.parse("2026-01-31"), "ACC-002");
+        when(paymentService.searchPaymentHistory(eq("ACC-001"), eq(filter), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .param("type", "INTERNAL_TRANSFER")
+                        .param("direction", "OUT")
+                        .param("minAmount", "10.00")
+                        .param("maxAmount", "500.00")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-31")
+                        .param("counterparty", "ACC-002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payments", hasSize(0)));
+
+        verify(paymentService, never()).getPaymentHistory(any(), any(Pageable.class));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenAmountRangeIsInverted() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .param("minAmount", "500.00")
+                        .param("maxAmount", "10.00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void shouldReturnKeysetPageWithNextCursorWhenCursorRequested() throws Exception {
+        // Given
+        Instant createdAt = Instant.parse("2026-02-08T10:00:00Z");
+        Payment payment = new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", createdAt);
+        payment.complete();
+
+        HistoryCursor cursor = new HistoryCursor(Instant.parse("2026-02-08T11:00:00Z"), SECOND_PAYMENT_ID);
+        when(paymentService.getPaymentHistory("ACC-001", cursor, 1))
+                .thenReturn(new SliceImpl<>(List.of(AccountEntry.out(payment, Money.parse("900.00"))), PageRequest.ofSize(1), true));
+
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .param("cursor", cursor.encode())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payments", hasSize(1)))
+                .andExpect(jsonPath("$.payments[0].paymentId").value(FIRST_PAYMENT_ID.toString()))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(new HistoryCursor(createdAt, FIRST_PAYMENT_ID).encode()));
+    }
+
+    @Test
+    void shouldStartKeysetPagingWhenCursorIsEmpty() throws Exception {
+        // Given
+        when(paymentService.getPaymentHistory("ACC-001", null, 20))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(20), false));
+
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payments", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCursorIsMalformed() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/payments/history/ACC-001")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
     @Test
     void shouldReturnBadRequestWhenPageIsNegative() throws Exception {
         // When/Then
@@ -21,7 +21,7 @@ public class CucumberContext {
     // Payment-related
     private ResponseEntity<PaymentResponse> lastPaymentResponse;
     private UUID lastIdempotencyKey;
-    private String lastCreatedPaymentId;
+    private UUID lastCreatedPaymentId;
 
     // Concurrent requests
     private int successfulPayments;
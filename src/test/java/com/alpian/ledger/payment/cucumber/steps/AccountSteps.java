@@ -3,6 +3,7 @@ package com.alpian.ledger.payment.cucumber.steps;
 import com.alpian.ledger.payment.api.dto.AccountResponse;
 import com.alpian.ledger.payment.cucumber.CucumberContext;
 import com.alpian.ledger.payment.cucumber.CucumberSpringConfiguration;
+import com.alpian.ledger.payment.domain.Money;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import lombok.RequiredArgsConstructor;
@@ -10,8 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
@@ -44,7 +43,7 @@ public class AccountSteps {
     public void theAccountBalanceShouldBe(String expectedBalance) {
         assertThat(lastAccountResponse).isNotNull();
         assertThat(lastAccountResponse.balance())
-                .isEqualByComparingTo(new BigDecimal(expectedBalance));
+                .isEqualTo(Money.parse(expectedBalance));
 
         log.info("Verified balance: expected={}, actual={}", expectedBalance, lastAccountResponse.balance());
     }
@@ -1,7 +1,11 @@
 package com.alpian.ledger.payment.cucumber.steps;
 
 import com.alpian.ledger.payment.cucumber.CucumberContext;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.infrastructure.cache.AccountCache;
+import com.alpian.ledger.payment.infrastructure.cache.PaymentHistoryCache;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.OutboxEventRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
@@ -12,7 +16,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -21,8 +24,11 @@ import java.util.Map;
 public class CommonSteps {
 
     private final AccountRepository accountRepository;
+    private final AccountEntryRepository accountEntryRepository;
     private final PaymentRepository paymentRepository;
     private final OutboxEventRepository outboxEventRepository;
+    private final AccountCache accountCache;
+    private final PaymentHistoryCache historyCache;
     private final CucumberContext context;
 
     @Before
@@ -43,21 +49,24 @@ public class CommonSteps {
 
         log.info("Cleaning up existing test data...");
         outboxEventRepository.deleteAll();
+        accountEntryRepository.deleteAll();
         paymentRepository.deleteAll();
         accountRepository.deleteAll();
         accountRepository.flush();
 
         for (Map<String, String> row : rows) {
             String accountId = row.get("accountId");
-            BigDecimal balance = new BigDecimal(row.get("balance"));
+            Money balance = Money.parse(row.get("balance"));
 
-            AccountEntity account = new AccountEntity(accountId, balance, null, null);
+            AccountEntity account = new AccountEntity(accountId, balance.minorUnits(), 0L, null, null);
             accountRepository.save(account);
 
             log.info("Created account {} with balance {}", accountId, balance);
         }
 
         accountRepository.flush();
+        accountCache.invalidateAll();
+        historyCache.invalidateAll();
     }
 }
 
@@ -16,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -35,7 +36,7 @@ public class OutboxSteps {
                 .atMost(Duration.ofSeconds(10))
                 .pollInterval(Duration.ofSeconds(1))
                 .untilAsserted(() -> {
-                    String paymentId = context.getLastCreatedPaymentId();
+                    UUID paymentId = context.getLastCreatedPaymentId();
                     log.info("Polling for outbox event with payment ID: {}", paymentId);
 
                     assertThat(paymentId)
@@ -85,7 +86,7 @@ public class OutboxSteps {
             Thread.currentThread().interrupt();
         }
 
-        String paymentId = context.getLastCreatedPaymentId();
+        UUID paymentId = context.getLastCreatedPaymentId();
 
         if (paymentId != null) {
             List<OutboxEventEntity> events = outboxEventRepository.findByAggregateId(paymentId);
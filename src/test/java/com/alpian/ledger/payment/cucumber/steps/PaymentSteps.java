@@ -4,6 +4,7 @@ import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
 import com.alpian.ledger.payment.api.dto.PaymentResponse;
 import com.alpian.ledger.payment.cucumber.CucumberContext;
 import com.alpian.ledger.payment.cucumber.CucumberSpringConfiguration;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import io.cucumber.datatable.DataTable;
@@ -15,7 +16,6 @@ import org.springframework.http.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -309,7 +309,7 @@ public class PaymentSteps {
                 type,
                 "null".equals(fromAccountId) ? null : fromAccountId,
                 "null".equals(toAccountId) ? null : toAccountId,
-                new BigDecimal(amount)
+                Money.parse(amount)
         );
     }
 
@@ -0,0 +1,83 @@
+package com.alpian.ledger.payment.domain;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldConvertDecimalAmountToMinorUnits() {
+        assertThat(Money.of(new BigDecimal("10.50")).minorUnits()).isEqualTo(1050);
+        assertThat(Money.of(new BigDecimal("10.5")).minorUnits()).isEqualTo(1050);
+        assertThat(Money.of(new BigDecimal("7")).minorUnits()).isEqualTo(700);
+        assertThat(Money.of(new BigDecimal("-0.01")).minorUnits()).isEqualTo(-1);
+        assertThat(Money.of(new BigDecimal("1.000")).minorUnits()).isEqualTo(100);
+        assertThat(Money.of(null)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"10.001", "0.005", "92233720368547758.08", "-92233720368547758.09", "1E+30"})
+    void shouldRejectAmountsWithMoreThanTwoDecimalsOrOutOfRange(String amount) {
+        assertThatThrownBy(() -> Money.of(new BigDecimal(amount)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(amount);
+    }
+
+    @Test
+    void shouldAcceptLimitsOfLongRange() {
+        assertThat(Money.parse("92233720368547758.07").minorUnits()).isEqualTo(Long.MAX_VALUE);
+        assertThat(Money.parse("-92233720368547758.08").minorUnits()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void shouldParseDecimalString() {
+        assertThat(Money.parse("100.00")).isEqualTo(Money.ofMinor(10000));
+        assertThatThrownBy(() -> Money.parse("10.001")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("ten")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void shouldShareZeroInstance() {
+        assertThat(Money.ofMinor(0)).isSameAs(Money.ZERO);
+        assertThat(Money.parse("0.00")).isSameAs(Money.ZERO);
+        assertThat(Money.ofMinor(1).isPositive()).isTrue();
+        assertThat(Money.ZERO.isPositive()).isFalse();
+    }
+
+    @Test
+    void shouldRenderWithTwoDecimals() {
+        assertThat(Money.ofMinor(1050).toBigDecimal()).isEqualTo(new BigDecimal("10.50"));
+        assertThat(Money.ofMinor(-5)).hasToString("-0.05");
+        assertThat(Money.ofMinor(100)).isLessThan(Money.ofMinor(101));
+    }
+
+    @Test
+    void shouldRoundTripThroughJsonAsPlainNumber() throws Exception {
+        // When
+        String json = objectMapper.writeValueAsString(Money.ofMinor(10050));
+        Money read = objectMapper.readValue(json, Money.class);
+
+        // Then
+        assertThat(json).isEqualTo("100.50");
+        assertThat(read).isEqualTo(Money.ofMinor(10050));
+        assertThat(objectMapper.readValue("0.1", Money.class)).isEqualTo(Money.ofMinor(10));
+        assertThat(objectMapper.readValue("\"12.34\"", Money.class)).isEqualTo(Money.ofMinor(1234));
+    }
+
+    @Test
+    void shouldRejectJsonAmountWithThreeDecimals() {
+        assertThatThrownBy(() -> objectMapper.readValue("10.001", Money.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,7 +2,8 @@ package com.alpian.ledger.payment.domain;
 
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -10,48 +11,56 @@ class PaymentTest {
 
     @Test
     void shouldCreatePaymentInCreatedStateWhenInstantiated() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         assertEquals(PaymentStatus.CREATED, payment.getStatus());
     }
 
+    @Test
+    void shouldKeepRecordedStatusWhenRestoredFromStorage() {
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"),
+                PaymentStatus.FAILED, "key1", Instant.parse("2026-02-08T09:00:00Z"));
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertThrows(IllegalStateException.class, payment::complete);
+    }
+
     @Test
     void shouldCompletePaymentWhenInCreatedState() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.complete();
         assertEquals(PaymentStatus.COMPLETED, payment.getStatus());
     }
 
     @Test
     void shouldFailPaymentWhenInCreatedState() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.fail();
         assertEquals(PaymentStatus.FAILED, payment.getStatus());
     }
 
     @Test
     void shouldThrowExceptionWhenCompletingAlreadyCompletedPayment() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.complete();
         assertThrows(IllegalStateException.class, payment::complete);
     }
 
     @Test
     void shouldThrowExceptionWhenCompletingFailedPayment() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.fail();
         assertThrows(IllegalStateException.class, payment::complete);
     }
 
     @Test
     void shouldThrowExceptionWhenFailingCompletedPayment() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.complete();
         assertThrows(IllegalStateException.class, payment::fail);
     }
 
     @Test
     void shouldThrowExceptionWhenFailingAlreadyFailedPayment() {
-        Payment payment = new Payment("P1", TransactionType.DEBIT, "A1", null, BigDecimal.TEN, "key1");
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.DEBIT, "A1", null, Money.parse("10.00"), "key1");
         payment.fail();
         assertThrows(IllegalStateException.class, payment::fail);
     }
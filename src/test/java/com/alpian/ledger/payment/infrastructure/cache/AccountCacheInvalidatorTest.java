@@ -0,0 +1,86 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheInvalidatorTest {
+
+    private static final UUID PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001");
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private PaymentHistoryCache historyCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private AccountCacheInvalidator invalidator;
+
+    @Test
+    void shouldInvalidateAccountsAndInsertHistoryEntriesAfterCommit() {
+        // Given
+        Payment payment = new Payment(PAYMENT_ID, TransactionType.INTERNAL_TRANSFER, "ACC-001", "ACC-002",
+                Money.parse("75.00"), "key1");
+        AccountEntry outEntry = AccountEntry.out(payment, Money.parse("925.00"));
+        AccountEntry inEntry = AccountEntry.in(payment, Money.parse("575.00"));
+
+        // When
+        invalidator.onBalancesChanged(AccountBalancesChangedEvent.of(outEntry, inEntry));
+
+        // Then
+        verify(accountCache).invalidate("ACC-001");
+        verify(accountCache).invalidate("ACC-002");
+        verify(historyCache).insert(outEntry);
+        verify(historyCache).insert(inEntry);
+    }
+
+    @Test
+    void shouldInvalidateBothSidesOfTransferFromPaymentEvent() {
+        // Given
+        String payload = """
+                {"paymentId":"01920f6e-6a1b-7c3d-8e4f-000000000001","type":"INTERNAL_TRANSFER",
+                 "fromAccountId":"ACC-001","toAccountId":"ACC-002","amount":75.00,
+                 "status":"COMPLETED","timestamp":"2026-02-08T10:00:00Z"}
+                """;
+
+        // When
+        invalidator.onPaymentEvent(payload);
+
+        // Then
+        Instant changedAt = Instant.parse("2026-02-08T10:00:00Z");
+        verify(accountCache).invalidateRemote("ACC-001", changedAt);
+        verify(accountCache).invalidateRemote("ACC-002", changedAt);
+        verify(historyCache).evictUnlessPresent("ACC-001", PAYMENT_ID);
+        verify(historyCache).evictUnlessPresent("ACC-002", PAYMENT_ID);
+    }
+
+    @Test
+    void shouldSkipUnreadablePaymentEvent() {
+        // When
+        invalidator.onPaymentEvent("not-json");
+
+        // Then
+        verify(accountCache, never()).invalidateRemote(any(), any());
+    }
+}
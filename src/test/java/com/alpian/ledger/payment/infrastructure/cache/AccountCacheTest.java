@@ -0,0 +1,164 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private AccountCache accountCache;
+    private AtomicInteger loads;
+    private Function<String, Account> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+        loader = accountId -> new Account(accountId, Money.ofMinor(1000L * loads.incrementAndGet()), 0L);
+    }
+
+    @Test
+    void shouldLoadOnceAndRecordHitsAndMisses() {
+        // When
+        Account first = accountCache.get("ACC-001", loader);
+        Account second = accountCache.get("ACC-001", loader);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("account.cache.entry.age").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReloadAfterCommitInvalidation() {
+        // Given
+        accountCache.get("ACC-001", loader);
+
+        // When
+        accountCache.invalidate("ACC-001");
+        Account reloaded = accountCache.get("ACC-001", loader);
+
+        // Then
+        assertThat(reloaded.balance()).isEqualTo(Money.ofMinor(2000L));
+        assertThat(meterRegistry.get("account.cache.invalidations").tag("source", "commit")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRecordLagForRemoteInvalidation() {
+        // Given
+        accountCache.get("ACC-001", loader);
+
+        // When
+        accountCache.invalidateRemote("ACC-001", Instant.now().minusSeconds(2));
+        accountCache.get("ACC-001", loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("account.cache.invalidations").tag("source", "kafka")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("account.cache.invalidation.lag").timer()
+                .totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(2.0);
+    }
+
+    @Test
+    void shouldLoadBatchMissesTogetherAndNotCacheUnknownIds() {
+        // Given
+        accountCache.get("ACC-001", loader);
+        List<Set<? extends String>> batches = new ArrayList<>();
+        Function<Set<? extends String>, Map<String, Account>> batchLoader = ids -> {
+            batches.add(Set.copyOf(ids));
+            return Map.of("ACC-002", new Account("ACC-002", Money.ofMinor(500L), 0L));
+        };
+
+        // When
+        Map<String, Account> first = accountCache.getAll(List.of("ACC-001", "ACC-002", "ACC-999"), batchLoader);
+        accountCache.getAll(List.of("ACC-001", "ACC-002", "ACC-999"), batchLoader);
+
+        // Then
+        assertThat(first).containsOnlyKeys("ACC-001", "ACC-002");
+        assertThat(batches).containsExactly(Set.of("ACC-002", "ACC-999"), Set.of("ACC-999"));
+    }
+
+    @Test
+    void shouldNotCacheBatchLoadThatRacedAnInvalidation() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        Function<Set<? extends String>, Map<String, Account>> staleLoader = ids -> {
+            loading.countDown();
+            await(invalidated);
+            return Map.of("ACC-001", new Account("ACC-001", Money.ofMinor(100L), 1L));
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<Map<String, Account>> batch = executor.submit(
+                    () -> accountCache.getAll(List.of("ACC-001"), staleLoader));
+            await(loading);
+            accountCache.invalidate("ACC-001");
+            invalidated.countDown();
+            Map<String, Account> served = batch.get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(served.get("ACC-001").balance()).isEqualTo(Money.ofMinor(100L));
+            assertThat(accountCache.get("ACC-001", loader).balance()).isEqualTo(Money.ofMinor(1000L));
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepHigherVersionWhenBatchLoadFindsEntryCachedMeanwhile() {
+        // Given
+        Account newer = new Account("ACC-001", Money.ofMinor(300L), 3L);
+        Function<Set<? extends String>, Map<String, Account>> olderLoader = ids -> {
+            accountCache.get("ACC-001", id -> newer);
+            return Map.of("ACC-001", new Account("ACC-001", Money.ofMinor(200L), 2L));
+        };
+
+        // When
+        Map<String, Account> served = accountCache.getAll(List.of("ACC-001"), olderLoader);
+
+        // Then
+        assertThat(served.get("ACC-001")).isEqualTo(newer);
+        assertThat(accountCache.get("ACC-001", loader)).isEqualTo(newer);
+        assertThat(loads).hasValue(0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.alpian.ledger.payment.infrastructure.cache;
+
+import com.alpian.ledger.payment.domain.AccountEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentHistoryCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, PaymentHistoryCache.Snapshot> loader =
+            accountId -> new PaymentHistoryCache.Snapshot(List.<AccountEntry>of(), loads.incrementAndGet());
+
+    @Test
+    void shouldReloadPolledSnapshotAfterWriteExpiry() {
+        // Given
+        PaymentHistoryCache cache = cache(Duration.ofMinutes(10), Duration.ofMinutes(1));
+        cache.get("ACC-001", loader);
+
+        // When
+        for (int poll = 0; poll < 5; poll++) {
+            advance(Duration.ofSeconds(10));
+            cache.get("ACC-001", loader);
+        }
+        int loadsBeforeDeadline = loads.get();
+        advance(Duration.ofSeconds(15));
+        PaymentHistoryCache.Snapshot reloaded = cache.get("ACC-001", loader);
+
+        // Then
+        assertThat(loadsBeforeDeadline).isEqualTo(1);
+        assertThat(reloaded.totalEntries()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExpireIdleSnapshotBeforeWriteDeadline() {
+        // Given
+        PaymentHistoryCache cache = cache(Duration.ofSeconds(10), Duration.ofMinutes(1));
+        cache.get("ACC-001", loader);
+
+        // When
+        advance(Duration.ofSeconds(11));
+        cache.get("ACC-001", loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    private PaymentHistoryCache cache(Duration expireAfterAccess, Duration expireAfterWrite) {
+        return new PaymentHistoryCache(50, 100, expireAfterAccess, expireAfterWrite,
+                new SimpleMeterRegistry(), nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,32 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogSequenceNumberTest {
+
+    @Test
+    void shouldRoundTripPostgresFormat() {
+        LogSequenceNumber lsn = LogSequenceNumber.parse("16/B374D848");
+
+        assertThat(lsn.value()).isEqualTo(0x16B374D848L);
+        assertThat(lsn).hasToString("16/B374D848");
+    }
+
+    @Test
+    void shouldCompareByWalPosition() {
+        assertThat(LogSequenceNumber.parse("1/0").isAtLeast(LogSequenceNumber.parse("0/FFFFFFFF"))).isTrue();
+        assertThat(LogSequenceNumber.parse("0/16").isAtLeast(LogSequenceNumber.parse("0/17"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> LogSequenceNumber.parse("not-an-lsn"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid consistency token");
+        assertThatThrownBy(() -> LogSequenceNumber.parse("1/"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
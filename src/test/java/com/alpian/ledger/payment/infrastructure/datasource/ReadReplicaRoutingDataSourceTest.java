@@ -0,0 +1,83 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, lagMonitor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToUsableReplica() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isUsable(null)).thenReturn(true);
+
+        // When/Then
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.REPLICA);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagsOrMissesToken() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        LogSequenceNumber token = LogSequenceNumber.parse("0/3000060");
+        ReadConsistency.require(token);
+        when(lagMonitor.isUsable(token)).thenReturn(false);
+
+        // When/Then
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+    }
+
+    @Test
+    void shouldKeepPrimaryOnlyReadsOnPrimary() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Object target = ReadConsistency.onPrimary(dataSource::determineCurrentLookupKey);
+
+        // Then
+        assertThat(target).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(ReadConsistency.isPrimaryOnly()).isFalse();
+        verify(lagMonitor, never()).isUsable(any());
+    }
+}
@@ -0,0 +1,183 @@
+package com.alpian.ledger.payment.infrastructure.datasource;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.service.AccountService;
+import com.alpian.ledger.payment.service.ConsistencyTokenService;
+import com.alpian.ledger.payment.service.PaymentService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Routes against a second, independent Postgres container standing in for the replica. It is not
+ * a streaming standby, so it reports no replay position: token-less reads may use it, reads with a
+ * consistency token must fall back to the primary. Rows seeded only into the replica show which
+ * database served a service call.
+ */
+class ReadReplicaRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Money REPLICA_BALANCE = Money.ofMinor(12_345);
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("replicadb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("ledger.read-replica.enabled", () -> "true");
+        registry.add("ledger.read-replica.url", replica::getJdbcUrl);
+        registry.add("ledger.read-replica.username", replica::getUsername);
+        registry.add("ledger.read-replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ConsistencyTokenService consistencyTokenService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @BeforeEach
+    void pollReplica() {
+        replicaLagMonitor.refresh();
+    }
+
+    @AfterEach
+    void clearConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("replicadb");
+        assertThat(currentDatabase(false)).isEqualTo("testdb");
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenReplicaCannotProveConsistencyToken() {
+        // Given
+        String token = consistencyTokenService.currentToken().orElseThrow();
+        ReadConsistency.require(LogSequenceNumber.parse(token));
+
+        // When/Then
+        assertThat(currentDatabase(true)).isEqualTo("testdb");
+    }
+
+    @Test
+    void shouldReadFromPrimaryInsidePrimaryOnlyScope() {
+        assertThat(ReadConsistency.onPrimary(() -> currentDatabase(true))).isEqualTo("testdb");
+    }
+
+    @Test
+    void shouldServeDeepHistoryPageFromReplica() {
+        // Given
+        String accountId = seedReplicaOnlyAccount(25);
+
+        // When
+        Page<AccountEntry> page = paymentService.getPaymentHistory(accountId, PageRequest.of(1, 20));
+
+        // Then
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldServeKeysetHistoryPageFromReplica() {
+        // Given
+        String accountId = seedReplicaOnlyAccount(25);
+
+        // When/Then: larger than the cached depth, so the page is queried
+        assertThat(paymentService.getPaymentHistory(accountId, null, 100).getContent()).hasSize(25);
+    }
+
+    @Test
+    void shouldServeTokenReadFromReplicaThatReplayedTheToken() {
+        // Given
+        String accountId = seedReplicaOnlyAccount(0);
+        doReturn(true).when(replicaLagMonitor).isUsable(any());
+        ReadConsistency.require(LogSequenceNumber.parse(consistencyTokenService.currentToken().orElseThrow()));
+
+        // When
+        Account account = accountService.getAccount(accountId);
+
+        // Then
+        assertThat(account.balance()).isEqualTo(REPLICA_BALANCE);
+    }
+
+    /**
+     * An account with {@code entries} debits that exists only in the replica, so reading it from the
+     * primary fails with account not found.
+     */
+    private static String seedReplicaOnlyAccount(int entries) {
+        String accountId = "REPLICA-" + UUID.randomUUID().toString().substring(0, 8);
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+        replicaJdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, ?)",
+                accountId, REPLICA_BALANCE.minorUnits());
+        replicaJdbcTemplate.update("""
+                INSERT INTO payments (payment_id, type, from_account_id, amount, status, idempotency_key, created_at)
+                SELECT gen_random_uuid(), 'DEBIT', ?, 100, 'COMPLETED', gen_random_uuid()::text,
+                       now() - g * INTERVAL '1 second'
+                FROM generate_series(1, ?) g
+                """, accountId, entries);
+        replicaJdbcTemplate.update("""
+                INSERT INTO account_entries (account_id, created_at, payment_id, direction, amount, balance_after, type)
+                SELECT from_account_id, created_at, payment_id, 'OUT', amount, ?, type
+                FROM payments WHERE from_account_id = ?
+                """, REPLICA_BALANCE.minorUnits(), accountId);
+        return accountId;
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
@@ -0,0 +1,53 @@
+package com.alpian.ledger.payment.infrastructure.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7RfcVariantIds() {
+        UUID id = new UuidV7Generator().newId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEncodeClockMillisInLeadingBits() {
+        Instant now = Instant.parse("2025-01-15T10:00:00.123Z");
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(now, ZoneOffset.UTC));
+
+        UUID id = generator.newId();
+
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    void shouldOrderIdsByCreationTime() {
+        UUID earlier = new UuidV7Generator(Clock.fixed(Instant.ofEpochMilli(1_000), ZoneOffset.UTC)).newId();
+        UUID later = new UuidV7Generator(Clock.fixed(Instant.ofEpochMilli(1_001), ZoneOffset.UTC)).newId();
+
+        assertThat(earlier.toString()).isLessThan(later.toString());
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsWithinSameMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        Set<UUID> ids = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.newId());
+        }
+
+        assertThat(ids).hasSize(10_000);
+    }
+}
@@ -0,0 +1,72 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentFlightRecorderTest {
+
+    private final PaymentFlightRecorder recorder = new PaymentFlightRecorder(
+            "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20), Duration.ZERO, false);
+
+    @AfterEach
+    void stopRecording() {
+        recorder.stop();
+    }
+
+    @Test
+    void shouldDumpRunningRecordingIncludingStageEvents() throws IOException {
+        // Given
+        PaymentFlightRecorder.RecordingStatus status = recorder.start();
+        PaymentProfiler.begin(new IdempotencyCheckEvent()).commit();
+
+        // When
+        Path dump = recorder.dump().orElseThrow();
+
+        // Then
+        try {
+            assertThat(status.running()).isTrue();
+            assertThat(status.startedAt()).isNotNull();
+            assertThat(RecordingFile.readAllEvents(dump))
+                    .anyMatch(event -> event.getEventType().getName().equals("com.alpian.ledger.IdempotencyCheck"))
+                    .noneMatch(event -> PaymentFlightRecorder.SENSITIVE_EVENTS.contains(event.getEventType().getName()));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void startShouldBeIdempotentAndStopShouldEndDumps() throws IOException {
+        // Given
+        PaymentFlightRecorder.RecordingStatus first = recorder.start();
+        PaymentFlightRecorder.RecordingStatus second = recorder.start();
+
+        // When
+        PaymentFlightRecorder.RecordingStatus stopped = recorder.stop();
+
+        // Then
+        assertThat(second.startedAt()).isEqualTo(first.startedAt());
+        assertThat(stopped.running()).isFalse();
+        assertThat(recorder.status().running()).isFalse();
+        assertThat(recorder.dump()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownSettings() {
+        PaymentFlightRecorder unknown = new PaymentFlightRecorder(
+                "no-such-settings", Duration.ofMinutes(5), DataSize.ofMegabytes(20), Duration.ZERO, false);
+
+        assertThatThrownBy(unknown::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no-such-settings");
+    }
+}
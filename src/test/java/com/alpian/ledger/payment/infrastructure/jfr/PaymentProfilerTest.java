@@ -0,0 +1,110 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentProfilerTest {
+
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        List.of(IdempotencyCheckEvent.class, LockAcquisitionEvent.class, PaymentInsertEvent.class,
+                        OutboxInsertEvent.class, PaymentCommitEvent.class)
+                .forEach(type -> recording.enable(type).withThreshold(Duration.ZERO));
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void shouldTagStageEventsWithPaymentInProgress() throws IOException {
+        // Given
+        try (PaymentProfiler.Scope profile = PaymentProfiler.start(TransactionType.INTERNAL_TRANSFER, "ACC-001", "ACC-002")) {
+
+            // When
+            PaymentProfiler.begin(new IdempotencyCheckEvent()).commit();
+            PaymentProfiler.begin(new LockAcquisitionEvent("lock_accounts")).commit();
+        }
+        PaymentProfiler.begin(new IdempotencyCheckEvent()).commit();
+
+        // Then
+        List<RecordedEvent> events = recordedEvents();
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .containsExactly("com.alpian.ledger.IdempotencyCheck", "com.alpian.ledger.LockAcquisition",
+                        "com.alpian.ledger.IdempotencyCheck");
+        assertThat(events.get(1).getString("paymentType")).isEqualTo("INTERNAL_TRANSFER");
+        assertThat(events.get(1).getString("fromAccountId")).isEqualTo("ACC-001");
+        assertThat(events.get(1).getString("toAccountId")).isEqualTo("ACC-002");
+        assertThat(events.get(1).getString("statement")).isEqualTo("lock_accounts");
+        assertThat(events.get(2).getString("paymentType")).isNull();
+        assertThat(PaymentProfiler.isActive()).isFalse();
+    }
+
+    @Test
+    void shouldTrackPaymentUntilTransactionCommits() throws IOException {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            try (PaymentProfiler.Scope profile = PaymentProfiler.start(TransactionType.DEBIT, "ACC-001", null)) {
+                PaymentProfiler.begin(new IdempotencyCheckEvent()).commit();
+            }
+            assertThat(PaymentProfiler.isActive()).isTrue();
+
+            // When
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            PaymentProfiler.beginInsert("insert into payments (amount,created_at) values (?,?)").commit();
+            PaymentProfiler.beginInsert("insert into outbox_events (id,payload) values (?,?)").commit();
+            assertThat(PaymentProfiler.beginInsert("insert into account_entries (account_id) values (?)")).isNull();
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(PaymentProfiler.isActive()).isFalse();
+        assertThat(PaymentProfiler.beginInsert("insert into payments (amount) values (?)")).isNull();
+        List<RecordedEvent> events = recordedEvents();
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .containsExactlyInAnyOrder("com.alpian.ledger.IdempotencyCheck", "com.alpian.ledger.PaymentInsert",
+                        "com.alpian.ledger.OutboxInsert", "com.alpian.ledger.PaymentCommit");
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getString("paymentType")).isEqualTo("DEBIT");
+            assertThat(event.getString("fromAccountId")).isEqualTo("ACC-001");
+        });
+    }
+
+    private List<RecordedEvent> recordedEvents() throws IOException {
+        Path file = Files.createTempFile("payment-profiler-test", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.alpian.ledger."))
+                    .sorted((left, right) -> left.getStartTime().compareTo(right.getStartTime()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
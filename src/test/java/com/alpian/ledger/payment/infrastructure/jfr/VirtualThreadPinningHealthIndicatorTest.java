@@ -0,0 +1,65 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VirtualThreadPinningHealthIndicatorTest {
+
+    @Mock
+    private VirtualThreadPinningMonitor monitor;
+
+    @Test
+    void shouldBeUpWhilePinningStaysWithinThreshold() {
+        // Given
+        givenWindow(new VirtualThreadPinningMonitor.WindowCounts(10, 0));
+
+        // When
+        Health health = new VirtualThreadPinningHealthIndicator(monitor, 10).health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("pinned", 10).containsEntry("maxPinned", 10);
+    }
+
+    @Test
+    void shouldGoOutOfServiceWhenPinningExceedsThreshold() {
+        // Given
+        givenWindow(new VirtualThreadPinningMonitor.WindowCounts(11, 0));
+
+        // When
+        Health health = new VirtualThreadPinningHealthIndicator(monitor, 10).health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+
+    @Test
+    void shouldGoOutOfServiceOnSubmitFailure() {
+        // Given
+        givenWindow(new VirtualThreadPinningMonitor.WindowCounts(0, 1));
+
+        // When
+        Health health = new VirtualThreadPinningHealthIndicator(monitor, 10).health();
+
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("submitFailures", 1);
+    }
+
+    private void givenWindow(VirtualThreadPinningMonitor.WindowCounts counts) {
+        when(monitor.windowCounts()).thenReturn(counts);
+        when(monitor.window()).thenReturn(Duration.ofMinutes(1));
+        when(monitor.topSites(5)).thenReturn(List.of());
+    }
+}
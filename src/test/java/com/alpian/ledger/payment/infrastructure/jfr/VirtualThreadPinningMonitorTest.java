@@ -0,0 +1,136 @@
+package com.alpian.ledger.payment.infrastructure.jfr;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadPinningMonitorTest {
+
+    private static final List<String> DRIVER_STACK = List.of(
+            "org.postgresql.core.v3.QueryExecutorImpl.execute:371",
+            "org.postgresql.jdbc.PgStatement.executeInternal:525");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(
+            meterRegistry, Duration.ofMillis(10), 5, 2, Duration.ofMinutes(1), false);
+
+    @Test
+    void shouldTimePinsPerSite() {
+        // When
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, 0);
+        monitor.pinned(Duration.ofMillis(50), DRIVER_STACK, 0);
+
+        // Then
+        Timer timer = meterRegistry.get("virtual.threads.pinned")
+                .tag("site", "org.postgresql.core.v3.QueryExecutorImpl.execute")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+        assertThat(monitor.topSites(5)).singleElement().satisfies(site -> {
+            assertThat(site.count()).isEqualTo(2);
+            assertThat(site.stack()).isEqualTo(DRIVER_STACK);
+        });
+    }
+
+    @Test
+    void shouldGroupSitesBeyondTheLimitAsOther() {
+        // When
+        monitor.pinned(Duration.ofMillis(30), List.of("a.A.run:1"), 0);
+        monitor.pinned(Duration.ofMillis(30), List.of("b.B.run:1"), 0);
+        monitor.pinned(Duration.ofMillis(30), List.of("c.C.run:1"), 0);
+        monitor.pinned(Duration.ofMillis(30), List.of("a.A.run:2"), 0);
+
+        // Then
+        assertThat(meterRegistry.find("virtual.threads.pinned").timers()).hasSize(3);
+        assertThat(meterRegistry.get("virtual.threads.pinned").tag("site", "a.A.run").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("virtual.threads.pinned").tag("site", VirtualThreadPinningMonitor.OTHER_SITE)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyCountPinsWithinTheWindow() {
+        // Given
+        long now = System.nanoTime();
+        long expired = now - Duration.ofMinutes(2).toNanos();
+
+        // When
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, expired);
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, now);
+        monitor.submitFailed(expired);
+
+        // Then
+        assertThat(monitor.windowCounts()).isEqualTo(new VirtualThreadPinningMonitor.WindowCounts(1, 0));
+        assertThat(meterRegistry.get("virtual.threads.submit.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResetBucketReusedAfterAFullWindow() {
+        // Given
+        long now = Duration.ofHours(1).toNanos();
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, now - Duration.ofMinutes(1).toNanos());
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, now - Duration.ofSeconds(59).toNanos());
+        monitor.submitFailed(now - Duration.ofSeconds(30).toNanos());
+
+        // When
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, now);
+        monitor.pinned(Duration.ofMillis(30), DRIVER_STACK, now + 1);
+
+        // Then
+        assertThat(monitor.windowCounts(now)).isEqualTo(new VirtualThreadPinningMonitor.WindowCounts(3, 1));
+        assertThat(monitor.windowCounts(now + Duration.ofSeconds(30).toNanos()))
+                .isEqualTo(new VirtualThreadPinningMonitor.WindowCounts(2, 0));
+    }
+
+    @Test
+    void shouldNameSiteAfterTopFrame() {
+        assertThat(VirtualThreadPinningMonitor.siteOf(DRIVER_STACK))
+                .isEqualTo("org.postgresql.core.v3.QueryExecutorImpl.execute");
+        assertThat(VirtualThreadPinningMonitor.siteOf(List.of())).isEqualTo(VirtualThreadPinningMonitor.UNKNOWN_SITE);
+        assertThat(VirtualThreadPinningMonitor.isJdkFrame("java.lang.VirtualThread.parkOnCarrierThread")).isTrue();
+        assertThat(VirtualThreadPinningMonitor.isJdkFrame("org.postgresql.jdbc.PgStatement.execute")).isFalse();
+    }
+
+    // Since JDK 24 a virtual thread no longer pins while it waits inside synchronized
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_23)
+    void shouldReportPinnedVirtualThreadFromFlightRecorder() throws InterruptedException {
+        // Given
+        VirtualThreadPinningMonitor streaming = new VirtualThreadPinningMonitor(
+                meterRegistry, Duration.ofMillis(10), 5, 50, Duration.ofMinutes(1), true);
+        Object lock = new Object();
+        streaming.start();
+
+        try {
+            // When
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(Duration.ofMillis(50));
+                }
+            }).join();
+
+            // Then
+            await().atMost(Duration.ofSeconds(10)).until(() -> streaming.windowCounts().pinned() > 0);
+            assertThat(streaming.topSites(1)).singleElement()
+                    .satisfies(site -> assertThat(site.site()).startsWith(getClass().getName()));
+        } finally {
+            streaming.destroy();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
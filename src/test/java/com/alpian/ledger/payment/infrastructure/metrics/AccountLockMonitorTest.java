@@ -0,0 +1,76 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountLockMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountLockMonitor lockMonitor = new AccountLockMonitor(meterRegistry, 100);
+
+    @Test
+    void shouldTimeLockWaitAndExecutionSeparatelyPerTransactionType() {
+        // When
+        List<String> locked = lockMonitor.lockWait(TransactionType.INTERNAL_TRANSFER, "lock_accounts",
+                () -> List.of("ACC-001", "ACC-002"), "ACC-001", "ACC-002");
+        Long balance = lockMonitor.execution(TransactionType.INTERNAL_TRANSFER, "deduct_balance", () -> 900L);
+
+        // Then
+        assertThat(locked).containsExactly("ACC-001", "ACC-002");
+        assertThat(balance).isEqualTo(900L);
+        assertThat(timer("INTERNAL_TRANSFER", "lock_accounts", "lock_wait").count()).isEqualTo(1);
+        assertThat(timer("INTERNAL_TRANSFER", "deduct_balance", "execution").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRankAccountsByAccumulatedLockWait() {
+        // When
+        lockMonitor.lockWait(TransactionType.DEBIT, "deduct_balance", () -> sleep(20), "HOT");
+        lockMonitor.lockWait(TransactionType.CREDIT, "credit_balance", () -> sleep(20), "HOT");
+        lockMonitor.lockWait(TransactionType.DEBIT, "deduct_balance", () -> null, "COLD");
+
+        // Then
+        List<AccountLockMonitor.AccountLockWait> top = lockMonitor.topWaits(10);
+        assertThat(top).extracting(AccountLockMonitor.AccountLockWait::accountId).containsExactly("HOT", "COLD");
+        assertThat(top.getFirst().waits()).isEqualTo(2);
+        assertThat(top.getFirst().totalWaitMillis()).isGreaterThanOrEqualTo(40);
+        assertThat(top.getFirst().maxWaitMillis()).isLessThanOrEqualTo(top.getFirst().totalWaitMillis());
+        assertThat(lockMonitor.topWaits(1)).hasSize(1);
+    }
+
+    @Test
+    void shouldRecordWaitWhenStatementFails() {
+        // When/Then
+        assertThatThrownBy(() -> lockMonitor.lockWait(TransactionType.DEBIT, "deduct_balance", () -> {
+            throw new IllegalStateException("lock timeout");
+        }, "ACC-001")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("DEBIT", "deduct_balance", "lock_wait").count()).isEqualTo(1);
+        assertThat(lockMonitor.topWaits(10)).extracting(AccountLockMonitor.AccountLockWait::accountId)
+                .containsExactly("ACC-001");
+    }
+
+    private Timer timer(String type, String statement, String phase) {
+        return meterRegistry.get("account.lock.statement")
+                .tag("type", type)
+                .tag("statement", statement)
+                .tag("phase", phase)
+                .timer();
+    }
+
+    private static Void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotAccountSketchTest {
+
+    private final HotAccountSketch sketch = new HotAccountSketch(1024, 4, 4, Duration.ofSeconds(10));
+
+    @Test
+    void shouldFindHeavyHittersAmongManyColdAccounts() {
+        // Given
+        for (int i = 0; i < 20_000; i++) {
+            sketch.record("COLD-" + i);
+            if (i % 4 == 0) {
+                sketch.record("HOT-1");
+            }
+            if (i % 10 == 0) {
+                sketch.record("HOT-2");
+            }
+        }
+
+        // When
+        List<HotAccountSketch.HotAccount> hot = sketch.hotAccounts();
+
+        // Then
+        assertThat(hot).extracting(HotAccountSketch.HotAccount::accountId).startsWith("HOT-1", "HOT-2");
+        assertThat(hot.getFirst().decayedCount()).isBetween(5_000L, 5_500L);
+        assertThat(hot.get(1).decayedCount()).isBetween(2_000L, 2_500L);
+    }
+
+    @Test
+    void shouldNeverUnderestimate() {
+        // Given
+        IntStream.range(0, 5_000).forEach(i -> sketch.record("ACC-" + (i % 500)));
+
+        // Then
+        IntStream.range(0, 500).forEach(i -> assertThat(sketch.estimate("ACC-" + i)).isGreaterThanOrEqualTo(10));
+    }
+
+    @Test
+    void shouldHalveCountsOnDecayAndForgetAccountsThatWentQuiet() {
+        // Given
+        IntStream.range(0, 100).forEach(i -> sketch.record("ACC-001"));
+        sketch.record("ACC-002");
+
+        // When
+        sketch.decay();
+
+        // Then
+        assertThat(sketch.estimate("ACC-001")).isEqualTo(50);
+        assertThat(sketch.hotAccounts()).extracting(HotAccountSketch.HotAccount::accountId).containsExactly("ACC-001");
+        assertThat(sketch.hotAccounts().getFirst().ratePerSecond()).isEqualTo(3.33);
+    }
+
+    @Test
+    void shouldNotLoseConcurrentRecords() throws InterruptedException {
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> IntStream.range(0, 10_000).forEach(i -> sketch.record("ACC-001")));
+            }
+        }
+
+        // Then
+        assertThat(sketch.estimate("ACC-001")).isEqualTo(80_000);
+        assertThat(sketch.hotAccounts()).extracting(HotAccountSketch.HotAccount::accountId).containsExactly("ACC-001");
+    }
+}
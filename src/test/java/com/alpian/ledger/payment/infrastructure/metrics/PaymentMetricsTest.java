@@ -0,0 +1,85 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRecordOutcomeImmediatelyWithoutTransaction() {
+        // When
+        paymentMetrics.paymentStarted(TransactionType.DEBIT).succeeded();
+
+        // Then
+        assertThat(createTimer("DEBIT", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordSuccessOnlyOnceTransactionCommits() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        paymentMetrics.paymentStarted(TransactionType.DEBIT).succeeded();
+        assertThat(createTimer("DEBIT", "success").count()).isZero();
+
+        // When
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertThat(createTimer("DEBIT", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordCommitFailureWhenReturnedPaymentRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        paymentMetrics.paymentStarted(TransactionType.CREDIT).succeeded();
+
+        // When
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(createTimer("CREDIT", "commit_failed").count()).isEqualTo(1);
+        assertThat(createTimer("CREDIT", "success").count()).isZero();
+    }
+
+    @Test
+    void shouldRecordFailureOutcomeAfterRollback() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        paymentMetrics.paymentStarted(TransactionType.DEBIT).failed(new InsufficientFundsException("ACC-001"));
+
+        // When
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(createTimer("DEBIT", "insufficient_funds").count()).isEqualTo(1);
+        assertThat(createTimer("DEBIT", "commit_failed").count()).isZero();
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private Timer createTimer(String type, String outcome) {
+        return meterRegistry.get("payment.create").tag("type", type).tag("outcome", outcome).timer();
+    }
+}
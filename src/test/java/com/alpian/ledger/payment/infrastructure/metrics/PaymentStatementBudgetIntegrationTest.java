@@ -0,0 +1,155 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.service.PaymentService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statement budgets of {@code createPayment} per transaction type. A change that adds a round trip to
+ * the payment path fails here and has to update the budget deliberately. The INSERTs are flushed at
+ * commit, outside any repository call, so they are counted by table.
+ */
+class PaymentStatementBudgetIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String sourceId;
+    private String targetId;
+
+    @BeforeEach
+    void createAccounts() {
+        String prefix = "BUDGET-" + UUID.randomUUID().toString().substring(0, 8);
+        sourceId = prefix + "-A";
+        targetId = prefix + "-B";
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, 100000), (?, 0)", sourceId, targetId);
+    }
+
+    @Test
+    void debitShouldStayWithinStatementBudget() {
+        // When
+        SqlStatementScope sql = createPayment(new CreatePaymentRequest(
+                TransactionType.DEBIT, sourceId, null, Money.parse("10.00")));
+
+        // Then
+        assertThat(sql.statementsByQuery()).as(sql.toString()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "PaymentRepository.findByIdempotencyKey", 1,
+                "AccountRepository.deductBalance", 1,
+                "AccountDailyStatsRepository.increment", 1,
+                "insert payments", 1,
+                "insert account_entries", 1,
+                "insert outbox_events", 1));
+        assertThat(sql.statements()).isEqualTo(6);
+        assertThat(sql.roundTrips()).isEqualTo(6);
+    }
+
+    @Test
+    void creditShouldStayWithinStatementBudget() {
+        // When
+        SqlStatementScope sql = createPayment(new CreatePaymentRequest(
+                TransactionType.CREDIT, null, targetId, Money.parse("10.00")));
+
+        // Then
+        assertThat(sql.statementsByQuery()).as(sql.toString()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "PaymentRepository.findByIdempotencyKey", 1,
+                "AccountRepository.creditBalance", 1,
+                "AccountDailyStatsRepository.increment", 1,
+                "insert payments", 1,
+                "insert account_entries", 1,
+                "insert outbox_events", 1));
+        assertThat(sql.statements()).isEqualTo(6);
+        assertThat(sql.roundTrips()).isEqualTo(6);
+    }
+
+    @Test
+    void internalTransferShouldStayWithinStatementBudget() {
+        // When
+        SqlStatementScope sql = createPayment(new CreatePaymentRequest(
+                TransactionType.INTERNAL_TRANSFER, sourceId, targetId, Money.parse("10.00")));
+
+        // Then
+        assertThat(sql.statementsByQuery()).as(sql.toString()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "PaymentRepository.findByIdempotencyKey", 1,
+                "AccountRepository.lockAccountsInOrder", 1,
+                "AccountRepository.deductBalance", 1,
+                "AccountRepository.creditBalance", 1,
+                "AccountDailyStatsRepository.increment", 2,
+                "insert payments", 1,
+                "insert account_entries", 2,
+                "insert outbox_events", 1));
+        // Both daily rollup rows go in one batch
+        assertThat(sql.statements()).isEqualTo(10);
+        assertThat(sql.roundTrips()).isEqualTo(9);
+    }
+
+    @Test
+    void rejectedDebitShouldStopAfterBalanceCheck() {
+        // When
+        SqlStatementScope sql = SqlStatementScope.open();
+        try {
+            assertThatThrownBy(() -> paymentService.createPayment(new CreatePaymentRequest(
+                    TransactionType.DEBIT, targetId, null, Money.parse("10.00")), UUID.randomUUID().toString()))
+                    .isInstanceOf(InsufficientFundsException.class);
+        } finally {
+            sql.close();
+        }
+
+        // Then
+        assertThat(sql.statementsByQuery()).as(sql.toString()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "PaymentRepository.findByIdempotencyKey", 1,
+                "AccountRepository.deductBalance", 1,
+                "AccountRepository.findByAccountId", 1));
+    }
+
+    @Test
+    void shouldRecordStatementsPerTransaction() {
+        // Given
+        DistributionSummary before = transactionStatements();
+        long transactionsBefore = before == null ? 0 : before.count();
+        double statementsBefore = before == null ? 0 : before.totalAmount();
+
+        // When
+        createPayment(new CreatePaymentRequest(TransactionType.DEBIT, sourceId, null, Money.parse("10.00")));
+
+        // Then
+        DistributionSummary after = transactionStatements();
+        assertThat(after).isNotNull();
+        assertThat(after.count()).isEqualTo(transactionsBefore + 1);
+        assertThat(after.totalAmount() - statementsBefore).isEqualTo(6);
+    }
+
+    private SqlStatementScope createPayment(CreatePaymentRequest request) {
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            paymentService.createPayment(request, UUID.randomUUID().toString());
+            return sql;
+        }
+    }
+
+    private DistributionSummary transactionStatements() {
+        return meterRegistry.find("jdbc.transaction.statements")
+                .tag("transaction", "PaymentService.createPayment")
+                .tag("outcome", "commit")
+                .summary();
+    }
+}
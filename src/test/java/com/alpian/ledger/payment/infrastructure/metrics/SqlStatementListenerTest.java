@@ -0,0 +1,80 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementListener listener = new SqlStatementListener(meterRegistry);
+
+    @Test
+    void shouldNameStatementsOutsideRepositoriesByVerbAndTable() {
+        assertThat(SqlStatementListener.shape("insert into payments (amount,created_at) values (?,?)"))
+                .isEqualTo("insert payments");
+        assertThat(SqlStatementListener.shape("UPDATE accounts SET balance = balance - ? WHERE account_id = ?"))
+                .isEqualTo("update accounts");
+        assertThat(SqlStatementListener.shape("delete from outbox_events where id=?"))
+                .isEqualTo("delete outbox_events");
+        assertThat(SqlStatementListener.shape("select st.task_name\nfrom scheduled_tasks st where st.picked = ?"))
+                .isEqualTo("select scheduled_tasks");
+        assertThat(SqlStatementListener.shape("SET LOCAL enable_seqscan = off")).isEqualTo("other");
+    }
+
+    @Test
+    void shouldNameStatementAfterLeadingComment() {
+        assertThat(SqlStatementListener.commentName("/* AccountRepository.deductBalance */ UPDATE accounts SET balance = ?"))
+                .isEqualTo("AccountRepository.deductBalance");
+        assertThat(SqlStatementListener.commentName("/* insert for com.example.PaymentEntity */ insert into payments"))
+                .isNull();
+        assertThat(SqlStatementListener.commentName("/* unterminated UPDATE accounts")).isNull();
+        assertThat(SqlStatementListener.commentName("UPDATE accounts SET balance = ?")).isNull();
+    }
+
+    @Test
+    void shouldPreferCommentNameOverStatementShape() {
+        // Given
+        ExecutionInfo execution = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(
+                "/* PaymentRepository.findByIdempotencyKey */ SELECT * FROM payments WHERE idempotency_key = ?"));
+
+        // When
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            listener.beforeQuery(execution, queries);
+            listener.afterQuery(execution, queries);
+
+            // Then
+            assertThat(sql.statementsByQuery()).containsOnlyKeys("PaymentRepository.findByIdempotencyKey");
+        }
+    }
+
+    @Test
+    void shouldCountBatchAsOneRoundTripOfSeveralStatements() {
+        // Given
+        ExecutionInfo batch = new ExecutionInfo();
+        batch.setBatch(true);
+        batch.setBatchSize(2);
+        List<QueryInfo> queries = List.of(new QueryInfo("INSERT INTO account_daily_stats (account_id) VALUES (?)"));
+
+        // When
+        try (SqlStatementScope sql = SqlStatementScope.open()) {
+            listener.beforeQuery(batch, queries);
+            listener.afterQuery(batch, queries);
+
+            // Then
+            assertThat(sql.statements()).isEqualTo(2);
+            assertThat(sql.roundTrips()).isEqualTo(1);
+            assertThat(sql.statementsByQuery()).containsEntry("insert account_daily_stats", 2);
+        }
+        assertThat(meterRegistry.get("jdbc.query").tag("query", "insert account_daily_stats").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.statements").tag("query", "insert account_daily_stats").counter().count())
+                .isEqualTo(2);
+    }
+}
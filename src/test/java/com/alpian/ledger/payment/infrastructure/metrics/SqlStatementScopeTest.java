@@ -0,0 +1,64 @@
+package com.alpian.ledger.payment.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementScopeTest {
+
+    @Test
+    void shouldCountStatementsInEveryOpenScope() {
+        // Given
+        SqlStatementScope request = SqlStatementScope.open();
+        SqlStatementScope transaction = SqlStatementScope.open("tx");
+
+        // When
+        SqlStatementScope.record("AccountRepository.deductBalance", 1);
+        SqlStatementScope.record("AccountDailyStatsRepository.increment", 2);
+        transaction.close();
+        SqlStatementScope.record("PaymentRepository.findByIdempotencyKey", 1);
+        request.close();
+        SqlStatementScope.record("PaymentRepository.findByIdempotencyKey", 1);
+
+        // Then
+        assertThat(transaction.statements()).isEqualTo(3);
+        assertThat(transaction.roundTrips()).isEqualTo(2);
+        assertThat(request.statements()).isEqualTo(4);
+        assertThat(request.roundTrips()).isEqualTo(3);
+        assertThat(request.statementsByQuery()).containsExactly(
+                Map.entry("AccountRepository.deductBalance", 1),
+                Map.entry("AccountDailyStatsRepository.increment", 2),
+                Map.entry("PaymentRepository.findByIdempotencyKey", 1));
+    }
+
+    @Test
+    void closingOuterScopeShouldCloseNestedScopes() {
+        // Given
+        SqlStatementScope outer = SqlStatementScope.open();
+        SqlStatementScope inner = SqlStatementScope.open("tx");
+
+        // When
+        outer.close();
+        SqlStatementScope.record("AccountRepository.deductBalance", 1);
+        inner.close();
+
+        // Then
+        assertThat(outer.statements()).isZero();
+        assertThat(inner.statements()).isZero();
+        assertThat(SqlStatementScope.ownedBy("tx")).isNull();
+    }
+
+    @Test
+    void shouldFindScopeByOwner() {
+        // Given
+        try (SqlStatementScope transaction = SqlStatementScope.open("tx");
+             SqlStatementScope nested = SqlStatementScope.open()) {
+
+            // When/Then
+            assertThat(SqlStatementScope.ownedBy("tx")).isSameAs(transaction);
+            assertThat(SqlStatementScope.ownedBy("other")).isNull();
+        }
+    }
+}
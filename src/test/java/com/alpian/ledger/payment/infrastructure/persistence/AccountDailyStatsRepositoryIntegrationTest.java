@@ -0,0 +1,74 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.Payment;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountDailyStatsRepositoryIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AccountDailyStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String sourceId;
+    private String targetId;
+
+    @BeforeEach
+    void createAccounts() {
+        String prefix = "STATS-" + UUID.randomUUID().toString().substring(0, 8);
+        sourceId = prefix + "-A";
+        targetId = prefix + "-B";
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, 0), (?, 0)", sourceId, targetId);
+    }
+
+    @Test
+    void shouldAccumulateEntriesPerUtcDayAndSumThemPerMonth() {
+        // Given
+        Payment lateJanuary = transfer("100.00", "2026-01-31T23:59:59Z");
+        Payment sameDay = transfer("25.50", "2026-01-31T08:00:00Z");
+        Payment february = transfer("10.00", "2026-02-01T00:00:00Z");
+
+        // When
+        for (Payment payment : List.of(lateJanuary, sameDay, february)) {
+            dailyStatsRepository.increment(List.of(
+                    AccountEntry.out(payment, Money.ZERO),
+                    AccountEntry.in(payment, Money.ZERO)));
+        }
+
+        // Then
+        List<ActivityPeriod> days = dailyStatsRepository.findDaily(sourceId,
+                LocalDate.parse("2026-01-01"), LocalDate.parse("2026-02-28"));
+        assertThat(days).containsExactly(
+                new ActivityPeriod(LocalDate.parse("2026-01-31"), Money.ZERO, Money.parse("125.50"), 0, 2),
+                new ActivityPeriod(LocalDate.parse("2026-02-01"), Money.ZERO, Money.parse("10.00"), 0, 1));
+
+        List<ActivityPeriod> months = dailyStatsRepository.findMonthly(targetId,
+                LocalDate.parse("2026-01-01"), LocalDate.parse("2026-12-31"));
+        assertThat(months).containsExactly(
+                new ActivityPeriod(LocalDate.parse("2026-01-01"), Money.parse("125.50"), Money.ZERO, 2, 0),
+                new ActivityPeriod(LocalDate.parse("2026-02-01"), Money.parse("10.00"), Money.ZERO, 1, 0));
+    }
+
+    private Payment transfer(String amount, String createdAt) {
+        Payment payment = new Payment(UUID.randomUUID(), TransactionType.INTERNAL_TRANSFER, sourceId, targetId,
+                Money.parse(amount), UUID.randomUUID().toString(), Instant.parse(createdAt));
+        payment.complete();
+        return payment;
+    }
+}
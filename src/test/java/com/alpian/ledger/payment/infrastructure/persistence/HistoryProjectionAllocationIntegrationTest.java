@@ -0,0 +1,115 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.AllocationMeter;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation per history page: managed {@code AccountEntryEntity}/{@code PaymentEntity} rows versus
+ * the {@link AccountEntryView} projection, both mapped to {@link AccountEntry}, measured with
+ * {@link AllocationMeter}.
+ */
+class HistoryProjectionAllocationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    @Autowired
+    private AccountEntryRepository accountEntryRepository;
+
+    @Autowired
+    private PaymentMapper paymentMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private String accountId;
+
+    @BeforeEach
+    void seedHistory() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        accountId = "ALLOC-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, ?)", accountId, 1_000_000L);
+
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            UUID paymentId = UUID.randomUUID();
+            Timestamp createdAt = Timestamp.from(start.plusMillis(i));
+            jdbcTemplate.update("INSERT INTO payments (payment_id, type, from_account_id, to_account_id, amount, " +
+                                "status, idempotency_key, created_at, updated_at) " +
+                                "VALUES (?, 'DEBIT', ?, NULL, 100, 'COMPLETED', ?, ?, ?)",
+                    paymentId, accountId, paymentId.toString(), createdAt, createdAt);
+            jdbcTemplate.update("INSERT INTO account_entries (account_id, created_at, payment_id, direction, amount, " +
+                                "balance_after, type) VALUES (?, ?, ?, 'OUT', 100, ?, 'DEBIT')",
+                    accountId, createdAt, paymentId, 1_000_000L - 100L * (i + 1));
+        }
+    }
+
+    @Test
+    void projectionShouldAllocateLessPerPageThanManagedEntities() {
+        List<AccountEntry> fromEntities = readOnly.execute(status -> loadViaEntities());
+        List<AccountEntry> fromViews = readOnly.execute(status -> loadViaProjection());
+        assertThat(fromViews).hasSize(PAGE_SIZE);
+        assertThat(fromViews).extracting(entry -> entry.payment().getPaymentId())
+                .containsExactlyElementsOf(fromEntities.stream().map(entry -> entry.payment().getPaymentId()).toList());
+        assertThat(fromViews).extracting(AccountEntry::balanceAfter)
+                .containsExactlyElementsOf(fromEntities.stream().map(AccountEntry::balanceAfter).toList());
+
+        long entityBytes = AllocationMeter.minAllocatedBytes(WARMUP_RUNS, MEASURED_RUNS,
+                () -> readOnly.execute(status -> loadViaEntities()));
+        long projectionBytes = AllocationMeter.minAllocatedBytes(WARMUP_RUNS, MEASURED_RUNS,
+                () -> readOnly.execute(status -> loadViaProjection()));
+
+        assertThat(projectionBytes)
+                .as("bytes per %d-row page: entities=%d, projection=%d", PAGE_SIZE, entityBytes, projectionBytes)
+                .isLessThan(entityBytes);
+    }
+
+    /**
+     * The history query as it was before the projection: entities with the payment fetch-joined.
+     */
+    private List<AccountEntry> loadViaEntities() {
+        return entityManager.createQuery("SELECT e FROM AccountEntryEntity e JOIN FETCH e.payment " +
+                                         "WHERE e.id.accountId = :accountId " +
+                                         "ORDER BY e.id.createdAt DESC, e.id.paymentId DESC",
+                        AccountEntryEntity.class)
+                .setParameter("accountId", accountId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(paymentMapper::toDomain)
+                .toList();
+    }
+
+    private List<AccountEntry> loadViaProjection() {
+        return accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(PAGE_SIZE)).stream()
+                .map(paymentMapper::toDomain)
+                .toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.alpian.ledger.payment.infrastructure.persistence;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN checks for the common history filter combinations. Sequential scans are disabled for the
+ * session, so a plan falls back to one only when no index can answer the query; on a table this
+ * small the planner would otherwise prefer one regardless of the indexes.
+ */
+class HistorySearchQueryPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int PAYMENTS = 3000;
+    private static final int COUNTERPARTIES = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String prefix;
+    private String accountId;
+
+    @BeforeEach
+    void seedHistory() {
+        prefix = "PLAN-" + UUID.randomUUID().toString().substring(0, 8);
+        accountId = prefix + "-A";
+
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, 0)", accountId);
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) " +
+                            "SELECT ? || '-C' || g, 0 FROM generate_series(0, ?) g", prefix, COUNTERPARTIES - 1);
+        jdbcTemplate.update("""
+                INSERT INTO payments (payment_id, type, from_account_id, to_account_id, amount, status,
+                                      idempotency_key, created_at, updated_at)
+                SELECT gen_random_uuid(),
+                       CASE g % 3 WHEN 0 THEN 'DEBIT' WHEN 1 THEN 'CREDIT' ELSE 'INTERNAL_TRANSFER' END,
+                       CASE g % 3 WHEN 1 THEN NULL ELSE ? END,
+                       CASE g % 3 WHEN 0 THEN NULL WHEN 1 THEN ? ELSE ? || '-C' || (g % ?) END,
+                       (g * 7919) % 100000, 'COMPLETED', ? || '-' || g,
+                       now() - g * INTERVAL '1 minute', now()
+                FROM generate_series(1, ?) g
+                """, accountId, accountId, prefix, COUNTERPARTIES, prefix, PAYMENTS);
+        jdbcTemplate.update("""
+                INSERT INTO account_entries (account_id, created_at, payment_id, direction, amount, balance_after,
+                                             type, counterparty_account_id)
+                SELECT from_account_id, created_at, payment_id, 'OUT', amount, 0, type, to_account_id
+                FROM payments WHERE idempotency_key LIKE ? || '-%' AND from_account_id IS NOT NULL
+                UNION ALL
+                SELECT to_account_id, created_at, payment_id, 'IN', amount, 0, type, from_account_id
+                FROM payments WHERE idempotency_key LIKE ? || '-%' AND to_account_id IS NOT NULL
+                """, prefix, prefix);
+        jdbcTemplate.execute("ANALYZE account_entries");
+        jdbcTemplate.execute("ANALYZE payments");
+    }
+
+    @Test
+    void dateRangeShouldScanPrimaryKeyInOrder() {
+        HistoryFilter filter = new HistoryFilter(null, null, null, null,
+                LocalDate.now().minusDays(1), LocalDate.now(), null);
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, null, 0, 21)), "pk_account_entries");
+    }
+
+    @Test
+    void directionAndAmountRangeShouldScanPrimaryKeyInOrder() {
+        HistoryFilter filter = new HistoryFilter(null, EntryDirection.OUT, Money.parse("10.00"),
+                Money.parse("500.00"), null, null, null);
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, null, 0, 21)), "pk_account_entries");
+    }
+
+    @Test
+    void typeShouldUseTypeIndex() {
+        HistoryFilter filter = new HistoryFilter(TransactionType.CREDIT, null, null, null, null, null, null);
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, null, 0, 21)), "idx_account_entries_type");
+    }
+
+    @Test
+    void typeAndDateRangeShouldUseTypeIndex() {
+        HistoryFilter filter = new HistoryFilter(TransactionType.DEBIT, null, null, null,
+                LocalDate.now().minusDays(1), LocalDate.now(), null);
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, null, 0, 21)), "idx_account_entries_type");
+    }
+
+    @Test
+    void counterpartyShouldUsePartialCounterpartyIndex() {
+        HistoryFilter filter = new HistoryFilter(null, null, null, null, null, null, prefix + "-C3");
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, null, 0, 21)),
+                "idx_account_entries_counterparty");
+    }
+
+    @Test
+    void counterpartyPastCursorShouldUsePartialCounterpartyIndex() {
+        HistoryFilter filter = new HistoryFilter(null, null, null, null, null, null, prefix + "-C3");
+        HistoryCursor cursor = new HistoryCursor(Instant.now().minusSeconds(3600), UUID.randomUUID());
+
+        assertOrderedIndexScan(plan(HistorySearchQuery.page(accountId, filter, cursor, 0, 21)),
+                "idx_account_entries_counterparty");
+    }
+
+    @Test
+    void countShouldNotScanTable() {
+        HistoryFilter filter = new HistoryFilter(TransactionType.INTERNAL_TRANSFER, null, null, null, null, null, null);
+
+        assertThat(plan(HistorySearchQuery.count(accountId, filter))).doesNotContain("Seq Scan");
+    }
+
+    private String plan(HistorySearchQuery query) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", namedJdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.params(), String.class));
+        });
+    }
+
+    private static void assertOrderedIndexScan(String plan, String index) {
+        assertThat(plan)
+                .as(plan)
+                .contains(index)
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+    }
+}
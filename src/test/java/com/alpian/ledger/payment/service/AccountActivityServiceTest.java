@@ -0,0 +1,83 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountDailyStatsRepository;
+import com.alpian.ledger.payment.service.dto.ActivityGranularity;
+import com.alpian.ledger.payment.service.dto.ActivityPeriod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountActivityServiceTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2026-01-15");
+    private static final LocalDate TO = LocalDate.parse("2026-03-10");
+
+    @Mock
+    private AccountDailyStatsRepository dailyStatsRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @InjectMocks
+    private AccountActivityService activityService;
+
+    @Test
+    void shouldReturnDailyRollupsWithoutExistenceCheckWhenActivityFound() {
+        // Given
+        ActivityPeriod day = new ActivityPeriod(FROM, Money.parse("50.00"), Money.parse("100.00"), 1, 2);
+        when(dailyStatsRepository.findDaily("ACC-001", FROM, TO)).thenReturn(List.of(day));
+
+        // When
+        List<ActivityPeriod> result = activityService.getActivity("ACC-001", ActivityGranularity.DAY, FROM, TO);
+
+        // Then
+        assertThat(result).containsExactly(day);
+        verify(accountService, never()).requireAccountExists(any());
+    }
+
+    @Test
+    void shouldReadWholeFirstMonthForMonthlyGranularity() {
+        // Given
+        when(dailyStatsRepository.findMonthly("ACC-001", LocalDate.parse("2026-01-01"), TO)).thenReturn(List.of());
+
+        // When
+        List<ActivityPeriod> result = activityService.getActivity("ACC-001", ActivityGranularity.MONTH, FROM, TO);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(accountService).requireAccountExists("ACC-001");
+    }
+
+    @Test
+    void shouldThrowAccountNotFoundWhenNoActivityAndNoAccount() {
+        // Given
+        when(dailyStatsRepository.findDaily("NON-EXISTENT", FROM, TO)).thenReturn(List.of());
+        doThrow(new AccountNotFoundException("Account not found: NON-EXISTENT"))
+                .when(accountService).requireAccountExists("NON-EXISTENT");
+
+        // When/Then
+        assertThatThrownBy(() -> activityService.getActivity("NON-EXISTENT", ActivityGranularity.DAY, FROM, TO))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    void shouldRejectInvertedRange() {
+        // When/Then
+        assertThatThrownBy(() -> activityService.getActivity("ACC-001", ActivityGranularity.DAY, TO, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(dailyStatsRepository);
+    }
+}
@@ -1,22 +1,42 @@
 package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.domain.Account;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.cache.AccountCache;
+import com.alpian.ledger.payment.infrastructure.datasource.LogSequenceNumber;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadConsistency;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadOnlyTransactions;
 import com.alpian.ledger.payment.infrastructure.mapper.AccountMapper;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryId;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,9 +45,20 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountEntryRepository accountEntryRepository;
+
     @Mock
     private AccountMapper accountMapper;
 
+    @Spy
+    private AccountCache accountCache = new AccountCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Spy
+    private ReadOnlyTransactions readOnlyTransactions = new ReadOnlyTransactions(transactionManager);
+
     @InjectMocks
     private AccountService accountService;
 
@@ -38,12 +69,13 @@ class AccountServiceTest {
     void setUp() {
         accountEntity = new AccountEntity(
                 "ACC-001",
-                new BigDecimal("1000.00"),
+                100000L,
+                0L,
                 null,
                 null
         );
 
-        account = new Account("ACC-001", new BigDecimal("1000.00"));
+        account = new Account("ACC-001", Money.parse("1000.00"), 0L);
     }
 
     @Test
@@ -61,12 +93,78 @@ class AccountServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.accountId()).isEqualTo("ACC-001");
-        assertThat(result.balance()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(result.balance()).isEqualTo(Money.parse("1000.00"));
 
         verify(accountRepository).findByAccountId(accountId);
         verify(accountMapper).toDomain(accountEntity);
     }
 
+    @Test
+    void shouldServeRepeatedReadsFromCacheUntilInvalidated() {
+        // Given
+        when(accountRepository.findByAccountId("ACC-001"))
+                .thenReturn(Optional.of(accountEntity));
+        when(accountMapper.toDomain(accountEntity))
+                .thenReturn(account);
+
+        // When
+        accountService.getAccount("ACC-001");
+        Account cached = accountService.getAccount("ACC-001");
+        accountCache.invalidate("ACC-001");
+        accountService.getAccount("ACC-001");
+
+        // Then
+        assertThat(cached).isEqualTo(account);
+        verify(accountRepository, times(2)).findByAccountId("ACC-001");
+    }
+
+    @Test
+    void shouldBypassCacheWhenReadCarriesConsistencyToken() {
+        // Given
+        when(accountRepository.findByAccountId("ACC-001"))
+                .thenReturn(Optional.of(accountEntity));
+        when(accountMapper.toDomain(accountEntity))
+                .thenReturn(account);
+        accountService.getAccount("ACC-001");
+        ReadConsistency.require(LogSequenceNumber.parse("0/3000060"));
+
+        // When
+        try {
+            accountService.getAccount("ACC-001");
+        } finally {
+            ReadConsistency.clear();
+        }
+
+        // Then
+        verify(accountRepository, times(2)).findByAccountId("ACC-001");
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void shouldLoadOnlyUncachedAccountsOfBatchInOneQuery() {
+        // Given
+        AccountEntity otherEntity = new AccountEntity("ACC-002", 5000L, 0L, null, null);
+        Account other = new Account("ACC-002", Money.parse("50.00"), 0L);
+        when(accountRepository.findByAccountId("ACC-001"))
+                .thenReturn(Optional.of(accountEntity));
+        when(accountRepository.findAllByAccountIdIn(any()))
+                .thenReturn(List.of(otherEntity));
+        when(accountMapper.toDomain(accountEntity))
+                .thenReturn(account);
+        when(accountMapper.toDomain(otherEntity))
+                .thenReturn(other);
+        accountService.getAccount("ACC-001");
+
+        // When
+        Map<String, Account> result = accountService.getAccounts(List.of("ACC-001", "ACC-002", "ACC-999"));
+
+        // Then
+        assertThat(result).containsOnly(entry("ACC-001", account), entry("ACC-002", other));
+        ArgumentCaptor<String[]> ids = ArgumentCaptor.forClass(String[].class);
+        verify(accountRepository).findAllByAccountIdIn(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder("ACC-002", "ACC-999");
+    }
+
     @Test
     void shouldThrowAccountNotFoundExceptionWhenAccountDoesNotExist() {
         // Given
@@ -82,5 +180,103 @@ class AccountServiceTest {
         verify(accountRepository).findByAccountId(accountId);
         verify(accountMapper, never()).toDomain(any());
     }
-}
 
+    @Test
+    void shouldPassExistenceCheckWithoutLoadingAccountWhenAccountExists() {
+        // Given
+        when(accountRepository.existsById("ACC-001")).thenReturn(true);
+
+        // When
+        accountService.requireAccountExists("ACC-001");
+
+        // Then
+        verify(accountRepository, never()).findByAccountId(any());
+        verify(accountMapper, never()).toDomain(any());
+    }
+
+    @Test
+    void shouldThrowAccountNotFoundExceptionWhenExistenceCheckFails() {
+        // Given
+        when(accountRepository.existsById("NON-EXISTENT")).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> accountService.requireAccountExists("NON-EXISTENT"))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: NON-EXISTENT");
+    }
+
+    @Test
+    void shouldReturnBalanceAfterLatestEntryAtOrBeforeAsOf() {
+        // Given
+        Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+        when(accountEntryRepository.findLatestAtOrBefore(eq("ACC-001"), eq(asOf), any()))
+                .thenReturn(List.of(accountEntry(EntryDirection.OUT, 2500L, 97500L)));
+
+        // When
+        Money balance = accountService.getBalanceAsOf("ACC-001", asOf);
+
+        // Then
+        assertThat(balance).isEqualTo(Money.parse("975.00"));
+        verify(accountEntryRepository, never()).findEarliestAfter(any(), any(), any());
+        verify(accountRepository, never()).findByAccountId(any());
+    }
+
+    @Test
+    void shouldUndoEarliestLaterEntryWhenNothingPrecedesAsOf() {
+        // Given
+        Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+        when(accountEntryRepository.findLatestAtOrBefore(eq("ACC-001"), eq(asOf), any()))
+                .thenReturn(List.of());
+        when(accountEntryRepository.findEarliestAfter(eq("ACC-001"), eq(asOf), any()))
+                .thenReturn(List.of(accountEntry(EntryDirection.IN, 5000L, 105000L)));
+
+        // When
+        Money balance = accountService.getBalanceAsOf("ACC-001", asOf);
+
+        // Then
+        assertThat(balance).isEqualTo(Money.parse("1000.00"));
+        verify(accountRepository, never()).findByAccountId(any());
+    }
+
+    @Test
+    void shouldFallBackToCurrentBalanceWhenAccountHasNoEntries() {
+        // Given
+        Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+        when(accountEntryRepository.findLatestAtOrBefore(eq("ACC-001"), eq(asOf), any()))
+                .thenReturn(List.of());
+        when(accountEntryRepository.findEarliestAfter(eq("ACC-001"), eq(asOf), any()))
+                .thenReturn(List.of());
+        when(accountRepository.findByAccountId("ACC-001"))
+                .thenReturn(Optional.of(accountEntity));
+        when(accountMapper.toDomain(accountEntity))
+                .thenReturn(account);
+
+        // When
+        Money balance = accountService.getBalanceAsOf("ACC-001", asOf);
+
+        // Then
+        assertThat(balance).isEqualTo(Money.parse("1000.00"));
+    }
+
+    @Test
+    void shouldThrowAccountNotFoundExceptionForBalanceOfUnknownAccount() {
+        // Given
+        Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+        when(accountEntryRepository.findLatestAtOrBefore(eq("NON-EXISTENT"), eq(asOf), any()))
+                .thenReturn(List.of());
+        when(accountEntryRepository.findEarliestAfter(eq("NON-EXISTENT"), eq(asOf), any()))
+                .thenReturn(List.of());
+        when(accountRepository.findByAccountId("NON-EXISTENT"))
+                .thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> accountService.getBalanceAsOf("NON-EXISTENT", asOf))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: NON-EXISTENT");
+    }
+
+    private static AccountEntryEntity accountEntry(EntryDirection direction, long amount, long balanceAfter) {
+        AccountEntryId id = new AccountEntryId("ACC-001", Instant.parse("2026-01-15T10:00:00Z"), UUID.randomUUID());
+        return new AccountEntryEntity(id, direction, amount, balanceAfter, TransactionType.DEBIT, null, null, null);
+    }
+}
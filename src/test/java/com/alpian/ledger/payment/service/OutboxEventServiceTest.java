@@ -1,9 +1,12 @@
 package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.domain.EventStatus;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
+import com.alpian.ledger.payment.infrastructure.id.UuidV7Generator;
 import com.alpian.ledger.payment.infrastructure.persistence.OutboxEventEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.OutboxEventRepository;
 import com.alpian.ledger.payment.service.dto.PaymentCompletedEvent;
@@ -16,15 +19,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
-import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +40,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class OutboxEventServiceTest {
 
+    private static final UUID DEBIT_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001");
+    private static final UUID CREDIT_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000002");
+    private static final UUID TRANSFER_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000003");
+
     @Mock
     private OutboxEventRepository outboxEventRepository;
 
@@ -45,6 +53,9 @@ class OutboxEventServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
     @InjectMocks
     private OutboxEventService outboxEventService;
 
@@ -58,31 +69,31 @@ class OutboxEventServiceTest {
     @BeforeEach
     void setUp() {
         debitPayment = new Payment(
-                "PAY-001",
+                DEBIT_PAYMENT_ID,
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00"),
+                Money.parse("100.00"),
                 "key-001"
         );
         debitPayment.complete();
 
         creditPayment = new Payment(
-                "PAY-002",
+                CREDIT_PAYMENT_ID,
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00"),
+                Money.parse("50.00"),
                 "key-002"
         );
         creditPayment.complete();
 
         transferPayment = new Payment(
-                "PAY-003",
+                TRANSFER_PAYMENT_ID,
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00"),
+                Money.parse("75.00"),
                 "key-003"
         );
         transferPayment.complete();
@@ -102,7 +113,7 @@ class OutboxEventServiceTest {
         verify(outboxEventRepository).save(outboxEventCaptor.capture());
         OutboxEventEntity savedEvent = outboxEventCaptor.getValue();
 
-        assertThat(savedEvent.getAggregateId()).isEqualTo("PAY-001");
+        assertThat(savedEvent.getAggregateId()).isEqualTo(DEBIT_PAYMENT_ID);
         assertThat(savedEvent.getPartitionKey()).isEqualTo("ACC-001"); // DEBIT uses fromAccountId
         assertThat(savedEvent.getType()).isEqualTo("PaymentCompleted");
         assertThat(savedEvent.getPayload()).isEqualTo(serializedEvent);
@@ -125,7 +136,7 @@ class OutboxEventServiceTest {
         verify(outboxEventRepository).save(outboxEventCaptor.capture());
         OutboxEventEntity savedEvent = outboxEventCaptor.getValue();
 
-        assertThat(savedEvent.getAggregateId()).isEqualTo("PAY-002");
+        assertThat(savedEvent.getAggregateId()).isEqualTo(CREDIT_PAYMENT_ID);
         assertThat(savedEvent.getPartitionKey()).isEqualTo("ACC-002"); // CREDIT uses toAccountId
         assertThat(savedEvent.getType()).isEqualTo("PaymentCompleted");
         assertThat(savedEvent.getPayload()).isEqualTo(serializedEvent);
@@ -145,7 +156,7 @@ class OutboxEventServiceTest {
         verify(outboxEventRepository).save(outboxEventCaptor.capture());
         OutboxEventEntity savedEvent = outboxEventCaptor.getValue();
 
-        assertThat(savedEvent.getAggregateId()).isEqualTo("PAY-003");
+        assertThat(savedEvent.getAggregateId()).isEqualTo(TRANSFER_PAYMENT_ID);
         assertThat(savedEvent.getPartitionKey()).isEqualTo("ACC-001"); // INTERNAL_TRANSFER uses fromAccountId
         assertThat(savedEvent.getType()).isEqualTo("PaymentCompleted");
     }
@@ -167,8 +178,8 @@ class OutboxEventServiceTest {
     @Test
     void shouldProcessPendingOutboxEventsWhenEventsExist() {
         // Given
-        OutboxEventEntity event1 = createOutboxEvent("EVENT-001", "ACC-001", EventStatus.NEW);
-        OutboxEventEntity event2 = createOutboxEvent("EVENT-002", "ACC-002", EventStatus.NEW);
+        OutboxEventEntity event1 = createOutboxEvent("ACC-001", EventStatus.NEW);
+        OutboxEventEntity event2 = createOutboxEvent("ACC-002", EventStatus.NEW);
         List<OutboxEventEntity> pendingEvents = Arrays.asList(event1, event2);
 
         when(outboxEventRepository.findByStatusOrderByCreatedAtAsc(EventStatus.NEW))
@@ -203,8 +214,8 @@ class OutboxEventServiceTest {
     @Test
     void shouldMarkEventAsSentWhenKafkaPublishSucceeds() {
         // Given
-        String eventId = "EVENT-001";
-        OutboxEventEntity event = createOutboxEvent(eventId, "ACC-001", EventStatus.NEW);
+        OutboxEventEntity event = createOutboxEvent("ACC-001", EventStatus.NEW);
+        UUID eventId = event.getEventId();
         when(outboxEventRepository.findById(eventId)).thenReturn(Optional.of(event));
 
         // When
@@ -219,7 +230,7 @@ class OutboxEventServiceTest {
     @Test
     void shouldNotSaveWhenMarkingNonExistentEventAsSent() {
         // Given
-        String eventId = "NON-EXISTENT";
+        UUID eventId = UUID.randomUUID();
         when(outboxEventRepository.findById(eventId)).thenReturn(Optional.empty());
 
         // When
@@ -233,9 +244,9 @@ class OutboxEventServiceTest {
     @Test
     void shouldMarkEventAsFailedWhenKafkaPublishFails() {
         // Given
-        String eventId = "EVENT-001";
         String errorMessage = "Kafka connection timeout";
-        OutboxEventEntity event = createOutboxEvent(eventId, "ACC-001", EventStatus.NEW);
+        OutboxEventEntity event = createOutboxEvent("ACC-001", EventStatus.NEW);
+        UUID eventId = event.getEventId();
         when(outboxEventRepository.findById(eventId)).thenReturn(Optional.of(event));
 
         // When
@@ -250,7 +261,7 @@ class OutboxEventServiceTest {
     @Test
     void shouldNotSaveWhenMarkingNonExistentEventAsFailed() {
         // Given
-        String eventId = "NON-EXISTENT";
+        UUID eventId = UUID.randomUUID();
         when(outboxEventRepository.findById(eventId)).thenReturn(Optional.empty());
 
         // When
@@ -327,23 +338,23 @@ class OutboxEventServiceTest {
 
         // Then
         PaymentCompletedEvent capturedEvent = eventCaptor.getValue();
-        assertThat(capturedEvent.getPaymentId()).isEqualTo("PAY-001");
+        assertThat(capturedEvent.getPaymentId()).isEqualTo(DEBIT_PAYMENT_ID);
         assertThat(capturedEvent.getType()).isEqualTo(TransactionType.DEBIT);
         assertThat(capturedEvent.getFromAccountId()).isEqualTo("ACC-001");
         assertThat(capturedEvent.getToAccountId()).isNull();
-        assertThat(capturedEvent.getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(capturedEvent.getAmount()).isEqualTo(Money.parse("100.00"));
         assertThat(capturedEvent.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
         assertThat(capturedEvent.getTimestamp()).isNotNull();
     }
 
-    private OutboxEventEntity createOutboxEvent(String eventId, String partitionKey, EventStatus status) {
+    private OutboxEventEntity createOutboxEvent(String partitionKey, EventStatus status) {
         OutboxEventEntity event = new OutboxEventEntity(
-                "PAY-" + eventId,
+                UUID.randomUUID(),
+                UUID.randomUUID(),
                 partitionKey,
                 "PaymentCompleted",
                 "{\"test\":\"data\"}"
         );
-        event.setEventId(eventId);
         event.setStatus(status);
         return event;
     }
@@ -0,0 +1,172 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.AbstractIntegrationTest;
+import com.alpian.ledger.payment.AllocationMeter;
+import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation budgets for the payment hot path, read from {@code allocation-budgets.properties}. Each
+ * operation runs in a warm loop against the Testcontainers database and the bytes it allocates on
+ * the calling thread must stay within its budget, so extra garbage from mappers, DTOs or logging
+ * fails the build rather than showing up later as GC pressure.
+ * <p>
+ * Every run writes the measured values to {@code build/reports/allocation}. With
+ * {@code -Pallocation.calibrate=true} the budgets are not checked and the report holds the measured
+ * values plus {@value #CALIBRATION_HEADROOM_PERCENT}% headroom, ready to replace the budgets file.
+ */
+class PaymentAllocationBudgetIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int WARMUP_RUNS = 500;
+    private static final int MEASURED_RUNS = 50;
+    private static final int HISTORY_ENTRIES = 100;
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final int CALIBRATION_HEADROOM_PERCENT = 15;
+    private static final long CALIBRATION_GRANULARITY = 256;
+
+    private static final boolean CALIBRATE = Boolean.getBoolean("allocation.calibrate");
+    private static final Map<String, Long> MEASURED = new ConcurrentSkipListMap<>();
+
+    private static Properties budgets;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String sourceId;
+    private String targetId;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("allocation-budgets.properties"));
+    }
+
+    @BeforeEach
+    void createAccounts() {
+        String prefix = "ALLOC-" + UUID.randomUUID().toString().substring(0, 8);
+        sourceId = prefix + "-A";
+        targetId = prefix + "-B";
+        jdbcTemplate.update("INSERT INTO accounts (account_id, balance) VALUES (?, ?), (?, 0)",
+                sourceId, 1_000_000_000L, targetId);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransactionType.class)
+    void createPaymentShouldStayWithinAllocationBudget(TransactionType type) {
+        // Given
+        CreatePaymentRequest request = switch (type) {
+            case DEBIT -> new CreatePaymentRequest(type, sourceId, null, Money.parse("1.00"));
+            case CREDIT -> new CreatePaymentRequest(type, null, targetId, Money.parse("1.00"));
+            case INTERNAL_TRANSFER -> new CreatePaymentRequest(type, sourceId, targetId, Money.parse("1.00"));
+        };
+        // Keys are created up front so that their allocation is not charged to the payment
+        String[] idempotencyKeys = new String[WARMUP_RUNS + MEASURED_RUNS];
+        for (int i = 0; i < idempotencyKeys.length; i++) {
+            idempotencyKeys[i] = UUID.randomUUID().toString();
+        }
+        int[] next = {0};
+
+        // When
+        long bytes = AllocationMeter.minAllocatedBytes(WARMUP_RUNS, MEASURED_RUNS,
+                () -> paymentService.createPayment(request, idempotencyKeys[next[0]++]));
+
+        // Then
+        assertWithinBudget("createPayment." + type.name(), bytes);
+    }
+
+    @Test
+    void cachedFirstHistoryPageShouldStayWithinAllocationBudget() {
+        // Given
+        seedHistory();
+        Pageable firstPage = PageRequest.of(0, HISTORY_PAGE_SIZE);
+
+        // When
+        long bytes = AllocationMeter.minAllocatedBytes(WARMUP_RUNS, MEASURED_RUNS,
+                () -> paymentService.getPaymentHistory(sourceId, firstPage));
+
+        // Then
+        assertWithinBudget("getPaymentHistory.cachedFirstPage", bytes);
+    }
+
+    @Test
+    void databaseHistoryPageShouldStayWithinAllocationBudget() {
+        // Given
+        seedHistory();
+        Pageable secondPage = PageRequest.of(1, HISTORY_PAGE_SIZE);
+
+        // When
+        long bytes = AllocationMeter.minAllocatedBytes(WARMUP_RUNS, MEASURED_RUNS,
+                () -> paymentService.getPaymentHistory(sourceId, secondPage));
+
+        // Then
+        assertWithinBudget("getPaymentHistory.databasePage", bytes);
+    }
+
+    private void seedHistory() {
+        CreatePaymentRequest debit = new CreatePaymentRequest(TransactionType.DEBIT, sourceId, null, Money.parse("1.00"));
+        for (int i = 0; i < HISTORY_ENTRIES; i++) {
+            paymentService.createPayment(debit, UUID.randomUUID().toString());
+        }
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        String reportDir = System.getProperty("allocation.report-dir");
+        if (reportDir == null || MEASURED.isEmpty()) {
+            return;
+        }
+        String runtime = System.getProperty("java.vm.vendor") + " " + System.getProperty("java.vm.name")
+                + " " + Runtime.version();
+        List<String> lines = new ArrayList<>();
+        lines.add(CALIBRATE
+                ? "# Measured + " + CALIBRATION_HEADROOM_PERCENT + "% headroom on " + runtime
+                : "# Measured on " + runtime);
+        MEASURED.forEach((operation, bytes) -> lines.add(operation + "=" + (CALIBRATE ? withHeadroom(bytes) : bytes)));
+        String file = CALIBRATE ? "allocation-budgets.properties" : "allocation-measured.properties";
+        Files.write(Files.createDirectories(Path.of(reportDir)).resolve(file), lines);
+    }
+
+    private static void assertWithinBudget(String operation, long bytes) {
+        MEASURED.put(operation, bytes);
+        if (CALIBRATE) {
+            return;
+        }
+        String budget = budgets.getProperty(operation);
+        assertThat(budget).as("no allocation budget for %s in allocation-budgets.properties", operation).isNotNull();
+        assertThat(bytes)
+                .as("bytes allocated per %s: measured %d, budget %s", operation, bytes, budget)
+                .isLessThanOrEqualTo(Long.parseLong(budget.trim()));
+    }
+
+    static long withHeadroom(long bytes) {
+        long padded = bytes + bytes * CALIBRATION_HEADROOM_PERCENT / 100;
+        return (padded + CALIBRATION_GRANULARITY - 1) / CALIBRATION_GRANULARITY * CALIBRATION_GRANULARITY;
+    }
+}
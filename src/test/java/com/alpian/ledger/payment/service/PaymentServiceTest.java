@@ -1,27 +1,46 @@
 package com.alpian.ledger.payment.service;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.IdempotencyConflictException;
+import com.alpian.ledger.payment.infrastructure.cache.PaymentHistoryCache;
+import com.alpian.ledger.payment.infrastructure.datasource.ReadOnlyTransactions;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.HotAccountSketch;
+import com.alpian.ledger.payment.infrastructure.metrics.PaymentMetrics;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntrySearchRepository;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryView;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
+import com.alpian.ledger.payment.service.dto.AccountChanges;
+import com.alpian.ledger.payment.service.dto.HistoryCursor;
+import com.alpian.ledger.payment.service.dto.HistoryFilter;
 import com.alpian.ledger.payment.service.strategy.PaymentStrategy;
 import com.alpian.ledger.payment.service.strategy.PaymentStrategyFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -33,9 +52,23 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceTest {
 
+    private static final UUID PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000123");
+    private static final UUID CREDIT_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000456");
+    private static final UUID TRANSFER_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000789");
+    private static final UUID FIRST_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001");
+    private static final UUID SECOND_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000002");
+    private static final UUID THIRD_PAYMENT_ID = UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000003");
+    private static final int HISTORY_DEPTH = 50;
+
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private AccountEntryRepository accountEntryRepository;
+
+    @Mock
+    private AccountEntrySearchRepository accountEntrySearchRepository;
+
     @Mock
     private OutboxEventService outboxEventService;
 
@@ -51,6 +84,23 @@ class PaymentServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Spy
+    private PaymentHistoryCache historyCache =
+            new PaymentHistoryCache(HISTORY_DEPTH, 100, Duration.ofMinutes(10), Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Spy
+    private ReadOnlyTransactions readOnlyTransactions = new ReadOnlyTransactions(transactionManager);
+
+    @Spy
+    private HotAccountSketch hotAccounts = new HotAccountSketch(64, 4, 8, Duration.ofSeconds(10));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -64,16 +114,16 @@ class PaymentServiceTest {
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00")
+                Money.parse("100.00")
         );
         idempotencyKey = "test-idempotency-key";
 
         mockPayment = new Payment(
-                "PAY-123",
+                PAYMENT_ID,
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00"),
+                Money.parse("100.00"),
                 idempotencyKey
         );
         mockPayment.complete();
@@ -94,13 +144,17 @@ class PaymentServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getPaymentId()).isEqualTo("PAY-123");
+        assertThat(result.getPaymentId()).isEqualTo(PAYMENT_ID);
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 
         verify(paymentRepository).findByIdempotencyKey(idempotencyKey);
         verify(strategyFactory).getStrategy(TransactionType.DEBIT);
         verify(paymentStrategy).execute(request, idempotencyKey);
         verify(outboxEventService).publishPaymentEvent(mockPayment);
+        assertThat(hotAccounts.estimate("ACC-001")).isEqualTo(1);
+        assertThat(createTimer("DEBIT", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payment.strategy.debit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.publish").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -118,6 +172,8 @@ class PaymentServiceTest {
         verify(paymentRepository).findByIdempotencyKey(idempotencyKey);
         verify(strategyFactory, never()).getStrategy(any());
         verify(outboxEventService, never()).publishPaymentEvent(any());
+        assertThat(createTimer("DEBIT", "idempotency_conflict").count()).isEqualTo(1);
+        assertThat(createTimer("DEBIT", "success").count()).isZero();
     }
 
     @Test
@@ -138,42 +194,102 @@ class PaymentServiceTest {
     }
 
     @Test
-    void shouldReturnPagedPaymentsWhenGetPaymentHistory() {
+    void shouldQueryDatabaseForPagesBeyondFirstWhenGetPaymentHistory() {
         // Given
         String accountId = "ACC-001";
-        Pageable pageable = PageRequest.of(0, 20);
-
-        PaymentEntity entity1 = new PaymentEntity();
-
-        PaymentEntity entity2 = new PaymentEntity();
+        Pageable pageable = PageRequest.of(1, 20);
 
-        Page<PaymentEntity> entityPage = new PageImpl<>(Arrays.asList(entity1, entity2));
+        AccountEntryView view1 = historyRow(FIRST_PAYMENT_ID);
+        AccountEntryView view2 = historyRow(SECOND_PAYMENT_ID);
+        Page<AccountEntryView> viewPage = new PageImpl<>(Arrays.asList(view1, view2));
 
-        Payment payment1 = new Payment("PAY-1", TransactionType.DEBIT, "ACC-001", null,
-                new BigDecimal("100.00"), "key1", Instant.now());
+        Payment payment1 = new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.now());
         payment1.complete();
 
-        Payment payment2 = new Payment("PAY-2", TransactionType.CREDIT, null, "ACC-001",
-                new BigDecimal("50.00"), "key2", Instant.now());
+        Payment payment2 = new Payment(SECOND_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key2", Instant.now());
         payment2.complete();
 
-        when(paymentRepository.findByAccountId(accountId, pageable))
-                .thenReturn(entityPage);
-        when(paymentMapper.toDomain(entity1)).thenReturn(payment1);
-        when(paymentMapper.toDomain(entity2)).thenReturn(payment2);
+        when(accountEntryRepository.findByAccountId(accountId, pageable))
+                .thenReturn(viewPage);
+        when(paymentMapper.toDomain(view1)).thenReturn(AccountEntry.out(payment1, Money.parse("900.00")));
+        when(paymentMapper.toDomain(view2)).thenReturn(AccountEntry.in(payment2, Money.parse("950.00")));
 
         // When
-        Page<Payment> result = paymentService.getPaymentHistory(accountId, pageable);
+        Page<AccountEntry> result = paymentService.getPaymentHistory(accountId, pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
-        assertThat(result.getContent().get(0).getPaymentId()).isEqualTo("PAY-1");
-        assertThat(result.getContent().get(1).getPaymentId()).isEqualTo("PAY-2");
+        assertThat(result.getContent().get(0).payment().getPaymentId()).isEqualTo(FIRST_PAYMENT_ID);
+        assertThat(result.getContent().get(0).direction()).isEqualTo(EntryDirection.OUT);
+        assertThat(result.getContent().get(1).payment().getPaymentId()).isEqualTo(SECOND_PAYMENT_ID);
+        assertThat(result.getContent().get(1).direction()).isEqualTo(EntryDirection.IN);
+
+        verify(accountEntryRepository).findByAccountId(accountId, pageable);
+        verify(accountService, never()).requireAccountExists(any()); // Should NOT call when entries exist
+        verify(paymentMapper, times(2)).toDomain(any(AccountEntryView.class));
+        verify(historyCache, never()).get(any(), any());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void shouldServeFirstPageFromHistoryCacheAfterFirstLoad() {
+        // Given
+        String accountId = "ACC-001";
+        Pageable pageable = PageRequest.of(0, 1);
+        AccountEntryView view1 = historyRow(FIRST_PAYMENT_ID);
+        AccountEntryView view2 = historyRow(SECOND_PAYMENT_ID);
+
+        AccountEntry entry1 = AccountEntry.out(new Payment(SECOND_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key2", Instant.parse("2026-02-08T10:00:00Z")), Money.parse("900.00"));
+        AccountEntry entry2 = AccountEntry.in(new Payment(FIRST_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key1", Instant.parse("2026-02-08T09:00:00Z")), Money.parse("1000.00"));
+
+        when(accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH)))
+                .thenReturn(List.of(view1, view2));
+        when(paymentMapper.toDomain(view1)).thenReturn(entry1);
+        when(paymentMapper.toDomain(view2)).thenReturn(entry2);
 
-        verify(paymentRepository).findByAccountId(accountId, pageable);
-        verify(accountService, never()).getAccount(any()); // Should NOT call when payments exist
-        verify(paymentMapper, times(2)).toDomain(any(PaymentEntity.class));
+        // When
+        paymentService.getPaymentHistory(accountId, pageable);
+        Page<AccountEntry> result = paymentService.getPaymentHistory(accountId, pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(entry1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        verify(accountEntryRepository, times(1)).findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH));
+        verify(accountEntryRepository, never()).findByAccountId(any(), any());
+        verify(accountEntryRepository, never()).countByAccountId(any()); // fewer rows than the cached depth
+        verify(transactionManager, times(1)).getTransaction(any()); // the cache hit borrows no connection
+    }
+
+    @Test
+    void shouldInsertCommittedEntryIntoCachedFirstPage() {
+        // Given
+        String accountId = "ACC-001";
+        AccountEntryView view = historyRow(FIRST_PAYMENT_ID);
+        AccountEntry older = AccountEntry.in(new Payment(FIRST_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key1", Instant.parse("2026-02-08T09:00:00Z")), Money.parse("1000.00"));
+        AccountEntry newer = AccountEntry.out(new Payment(SECOND_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key2", Instant.parse("2026-02-08T10:00:00Z")), Money.parse("900.00"));
+
+        when(accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH)))
+                .thenReturn(List.of(view));
+        when(paymentMapper.toDomain(view)).thenReturn(older);
+        paymentService.getPaymentHistory(accountId, PageRequest.of(0, 20));
+
+        // When
+        historyCache.insert(newer);
+        historyCache.insert(newer);
+        Page<AccountEntry> result = paymentService.getPaymentHistory(accountId, PageRequest.of(0, 20));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(newer, older);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(accountEntryRepository, times(1)).findLatestByAccountId(any(), any());
     }
 
     @Test
@@ -182,20 +298,177 @@ class PaymentServiceTest {
         String accountId = "NON-EXISTENT";
         Pageable pageable = PageRequest.of(0, 20);
 
-        Page<PaymentEntity> emptyPage = new PageImpl<>(List.of());
-        when(paymentRepository.findByAccountId(accountId, pageable))
-                .thenReturn(emptyPage);
+        when(accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH)))
+                .thenReturn(List.of());
 
-        when(accountService.getAccount(accountId))
-                .thenThrow(new com.alpian.ledger.payment.exception.AccountNotFoundException("Account not found: " + accountId));
+        doThrow(new com.alpian.ledger.payment.exception.AccountNotFoundException("Account not found: " + accountId))
+                .when(accountService).requireAccountExists(accountId);
 
         // When/Then
         assertThatThrownBy(() -> paymentService.getPaymentHistory(accountId, pageable))
                 .isInstanceOf(com.alpian.ledger.payment.exception.AccountNotFoundException.class)
                 .hasMessageContaining("Account not found: NON-EXISTENT");
 
-        verify(paymentRepository).findByAccountId(accountId, pageable);
-        verify(accountService).getAccount(accountId);
+        verify(accountService).requireAccountExists(accountId);
+        verify(accountService, never()).getAccount(any());
+    }
+
+    @Test
+    void shouldReturnFirstKeysetPageWithNextFlagWhenMoreRowsExist() {
+        // Given
+        String accountId = "ACC-001";
+        AccountEntryView view1 = historyRow(FIRST_PAYMENT_ID);
+        AccountEntryView view2 = historyRow(SECOND_PAYMENT_ID);
+        AccountEntryView view3 = historyRow(THIRD_PAYMENT_ID);
+
+        AccountEntry entry1 = AccountEntry.out(new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.now()), Money.parse("900.00"));
+        AccountEntry entry2 = AccountEntry.in(new Payment(SECOND_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key2", Instant.now()), Money.parse("950.00"));
+
+        AccountEntry entry3 = AccountEntry.in(new Payment(THIRD_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("25.00"), "key3", Instant.now()), Money.parse("1000.00"));
+
+        when(accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH)))
+                .thenReturn(List.of(view1, view2, view3));
+        when(paymentMapper.toDomain(view1)).thenReturn(entry1);
+        when(paymentMapper.toDomain(view2)).thenReturn(entry2);
+        when(paymentMapper.toDomain(view3)).thenReturn(entry3);
+
+        // When
+        Slice<AccountEntry> result = paymentService.getPaymentHistory(accountId, null, 2);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(entry1, entry2);
+        assertThat(result.hasNext()).isTrue();
+        verify(accountEntryRepository, never()).findByAccountId(any(), any());
+        verify(accountService, never()).requireAccountExists(any());
+    }
+
+    @Test
+    void shouldSeekPastCursorWhenCursorProvided() {
+        // Given
+        String accountId = "ACC-001";
+        HistoryCursor cursor = new HistoryCursor(Instant.parse("2026-02-08T10:00:00Z"), FIRST_PAYMENT_ID);
+        AccountEntryView view = historyRow(FIRST_PAYMENT_ID);
+        AccountEntry entry = AccountEntry.in(new Payment(SECOND_PAYMENT_ID, TransactionType.CREDIT, null, "ACC-001",
+                Money.parse("50.00"), "key2", Instant.parse("2026-02-08T09:00:00Z")),
+                Money.parse("1000.00"));
+
+        when(accountEntryRepository.findByAccountIdBefore(accountId, cursor.createdAt(), cursor.paymentId(),
+                PageRequest.ofSize(21)))
+                .thenReturn(List.of(view));
+        when(paymentMapper.toDomain(view)).thenReturn(entry);
+
+        // When
+        Slice<AccountEntry> result = paymentService.getPaymentHistory(accountId, cursor, 20);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(entry);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldThrowAccountNotFoundWhenKeysetPageEmptyForNonExistentAccount() {
+        // Given
+        String accountId = "NON-EXISTENT";
+        when(accountEntryRepository.findLatestByAccountId(accountId, PageRequest.ofSize(HISTORY_DEPTH)))
+                .thenReturn(List.of());
+        doThrow(new com.alpian.ledger.payment.exception.AccountNotFoundException("Account not found: " + accountId))
+                .when(accountService).requireAccountExists(accountId);
+
+        // When/Then
+        assertThatThrownBy(() -> paymentService.getPaymentHistory(accountId, null, 20))
+                .isInstanceOf(com.alpian.ledger.payment.exception.AccountNotFoundException.class);
+    }
+
+    @Test
+    void shouldReturnChangesUpToLimitAndAdvanceToLastSeq() {
+        // Given
+        String accountId = "ACC-001";
+        AccountEntryView first = historyRow(FIRST_PAYMENT_ID, 41L);
+        AccountEntryView second = historyRow(SECOND_PAYMENT_ID, 57L);
+        AccountEntry entry = AccountEntry.out(new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.parse("2026-02-08T09:00:00Z")),
+                Money.parse("900.00"));
+
+        when(accountEntryRepository.findByAccountIdAfterSeq(accountId, 40L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(first, second));
+        when(paymentMapper.toDomain(first)).thenReturn(entry);
+
+        // When
+        AccountChanges changes = paymentService.getChangesSince(accountId, 40L, 1);
+
+        // Then
+        assertThat(changes.entries()).containsExactly(entry);
+        assertThat(changes.nextSince()).isEqualTo(41L);
+        assertThat(changes.hasMore()).isTrue();
+        verify(paymentMapper, never()).toDomain(second);
+    }
+
+    @Test
+    void shouldReturnEmptyChangesAndKeepSinceWhenClientIsUpToDate() {
+        // Given
+        String accountId = "ACC-001";
+        when(accountEntryRepository.findByAccountIdAfterSeq(accountId, 57L, PageRequest.ofSize(101)))
+                .thenReturn(List.of());
+
+        // When
+        AccountChanges changes = paymentService.getChangesSince(accountId, 57L, 100);
+
+        // Then
+        assertThat(changes.entries()).isEmpty();
+        assertThat(changes.nextSince()).isEqualTo(57L);
+        assertThat(changes.hasMore()).isFalse();
+        verify(accountService).requireAccountExists(accountId);
+    }
+
+    @Test
+    void shouldSearchFilteredHistoryWithoutCacheOrCountWhenPageIsNotFull() {
+        // Given
+        String accountId = "ACC-001";
+        HistoryFilter filter = new HistoryFilter(TransactionType.DEBIT, null, null, null, null, null, null);
+        AccountEntryView view = historyRow(FIRST_PAYMENT_ID);
+        AccountEntry entry = AccountEntry.out(new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.now()), Money.parse("900.00"));
+
+        when(accountEntrySearchRepository.search(accountId, filter, null, 0L, 20))
+                .thenReturn(List.of(view));
+        when(paymentMapper.toDomain(view)).thenReturn(entry);
+
+        // When
+        Page<AccountEntry> result = paymentService.searchPaymentHistory(accountId, filter, PageRequest.of(0, 20));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(entry);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(accountEntrySearchRepository, never()).count(any(), any());
+        verify(historyCache, never()).get(any(), any());
+        verify(accountEntryRepository, never()).findLatestByAccountId(any(), any());
+    }
+
+    @Test
+    void shouldSeekFilteredHistoryPastCursorWithOneExtraRow() {
+        // Given
+        String accountId = "ACC-001";
+        HistoryFilter filter = new HistoryFilter(null, EntryDirection.OUT, Money.parse("10.00"), null, null, null, null);
+        HistoryCursor cursor = new HistoryCursor(Instant.parse("2026-02-08T10:00:00Z"), THIRD_PAYMENT_ID);
+        AccountEntryView view1 = historyRow(FIRST_PAYMENT_ID);
+        AccountEntryView view2 = historyRow(SECOND_PAYMENT_ID);
+        AccountEntry entry1 = AccountEntry.out(new Payment(FIRST_PAYMENT_ID, TransactionType.DEBIT, "ACC-001", null,
+                Money.parse("100.00"), "key1", Instant.parse("2026-02-08T09:00:00Z")), Money.parse("900.00"));
+
+        when(accountEntrySearchRepository.search(accountId, filter, cursor, 0L, 2))
+                .thenReturn(List.of(view1, view2));
+        when(paymentMapper.toDomain(view1)).thenReturn(entry1);
+
+        // When
+        Slice<AccountEntry> result = paymentService.searchPaymentHistory(accountId, filter, cursor, 1);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(entry1);
+        assertThat(result.hasNext()).isTrue();
+        verify(paymentMapper, never()).toDomain(view2);
     }
 
     @Test
@@ -205,15 +478,15 @@ class PaymentServiceTest {
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00")
+                Money.parse("50.00")
         );
 
         Payment creditPayment = new Payment(
-                "PAY-456",
+                CREDIT_PAYMENT_ID,
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00"),
+                Money.parse("50.00"),
                 idempotencyKey
         );
         creditPayment.complete();
@@ -240,15 +513,15 @@ class PaymentServiceTest {
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00")
+                Money.parse("75.00")
         );
 
         Payment transferPayment = new Payment(
-                "PAY-789",
+                TRANSFER_PAYMENT_ID,
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00"),
+                Money.parse("75.00"),
                 idempotencyKey
         );
         transferPayment.complete();
@@ -267,5 +540,17 @@ class PaymentServiceTest {
         assertThat(result.getType()).isEqualTo(TransactionType.INTERNAL_TRANSFER);
         verify(strategyFactory).getStrategy(TransactionType.INTERNAL_TRANSFER);
     }
-}
 
+    private static AccountEntryView historyRow(UUID paymentId) {
+        return historyRow(paymentId, 1L);
+    }
+
+    private static AccountEntryView historyRow(UUID paymentId, long seq) {
+        return new AccountEntryView("ACC-001", seq, EntryDirection.OUT, 90000L, paymentId, TransactionType.DEBIT,
+                "ACC-001", null, 10000L, PaymentStatus.COMPLETED, "key-" + paymentId, Instant.now());
+    }
+
+    private Timer createTimer(String type, String outcome) {
+        return meterRegistry.get("payment.create").tag("type", type).tag("outcome", outcome).timer();
+    }
+}
@@ -0,0 +1,86 @@
+package com.alpian.ledger.payment.service;
+
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
+import com.alpian.ledger.payment.domain.TransactionType;
+import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountStatementReader;
+import com.alpian.ledger.payment.service.dto.StatementLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+
+    @Mock
+    private AccountStatementReader statementReader;
+
+    @Mock
+    private AccountService accountService;
+
+    @InjectMocks
+    private StatementService statementService;
+
+    @Test
+    void shouldStreamWholeUtcDaysAndCountLines() {
+        // Given
+        StatementLine line = new StatementLine(Instant.parse("2026-03-01T23:59:59Z"),
+                UUID.fromString("01920f6e-6a1b-7c3d-8e4f-000000000001"), TransactionType.DEBIT, EntryDirection.OUT,
+                Money.parse("10.00"), Money.parse("990.00"), null);
+        doAnswer(invocation -> {
+            Consumer<StatementLine> sink = invocation.getArgument(3);
+            sink.accept(line);
+            sink.accept(line);
+            return null;
+        }).when(statementReader).streamEntries(eq("ACC-001"), eq(Instant.parse("2026-03-01T00:00:00Z")),
+                eq(Instant.parse("2026-03-02T00:00:00Z")), any());
+        List<StatementLine> written = new ArrayList<>();
+
+        // When
+        long lines = statementService.exportStatement("ACC-001", LocalDate.parse("2026-03-01"),
+                LocalDate.parse("2026-03-01"), written::add);
+
+        // Then
+        assertThat(lines).isEqualTo(2);
+        assertThat(written).containsExactly(line, line);
+    }
+
+    @Test
+    void shouldRejectReversedDateRange() {
+        // When/Then
+        assertThatThrownBy(() -> statementService.checkExportable("ACC-001",
+                LocalDate.parse("2026-03-02"), LocalDate.parse("2026-03-01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not be after");
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void shouldRejectUnknownAccountBeforeExport() {
+        // Given
+        doThrow(new AccountNotFoundException("Account not found: ACC-999"))
+                .when(accountService).requireAccountExists("ACC-999");
+
+        // When/Then
+        assertThatThrownBy(() -> statementService.checkExportable("ACC-999",
+                LocalDate.parse("2026-03-01"), LocalDate.parse("2026-03-31")))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.alpian.ledger.payment.service.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryCursorTest {
+
+    @Test
+    void shouldRoundTripThroughToken() {
+        // Given
+        HistoryCursor cursor = new HistoryCursor(Instant.parse("2026-03-01T10:15:30.123456Z"), UUID.randomUUID());
+
+        // When
+        HistoryCursor decoded = HistoryCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "", "AAAA"})
+    void shouldRejectMalformedToken(String token) {
+        assertThatThrownBy(() -> HistoryCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid history cursor");
+    }
+
+    @Test
+    void shouldRejectInstantOutsideInstantRange() {
+        assertThatThrownBy(() -> HistoryCursor.decode(token(Long.MAX_VALUE, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid history cursor");
+        assertThatThrownBy(() -> HistoryCursor.decode(token(Long.MIN_VALUE, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid history cursor");
+    }
+
+    @Test
+    void shouldRejectInstantOutsideDatabaseRange() {
+        long year300000 = Instant.parse("+300000-01-01T00:00:00Z").getEpochSecond();
+
+        assertThatThrownBy(() -> HistoryCursor.decode(token(year300000, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid history cursor");
+    }
+
+    @Test
+    void shouldRejectNanosOutOfRange() {
+        assertThatThrownBy(() -> HistoryCursor.decode(token(0, -1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HistoryCursor.decode(token(0, 1_000_000_000)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(long epochSecond, int nanos) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + 2 * Long.BYTES)
+                .putLong(epochSecond)
+                .putInt(nanos)
+                .putLong(1L)
+                .putLong(2L);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -1,22 +1,33 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
+import com.alpian.ledger.payment.infrastructure.id.UuidV7Generator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,9 +44,21 @@ class CreditPaymentStrategyTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private AccountEntryRepository accountEntryRepository;
+
     @Mock
     private PaymentMapper paymentMapper;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AccountLockMonitor lockMonitor = new AccountLockMonitor(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private CreditPaymentStrategy strategy;
 
@@ -48,7 +71,7 @@ class CreditPaymentStrategyTest {
                 TransactionType.CREDIT,
                 null,
                 "ACC-002",
-                new BigDecimal("50.00")
+                Money.parse("50.00")
         );
         idempotencyKey = "test-idempotency-key";
     }
@@ -61,8 +84,8 @@ class CreditPaymentStrategyTest {
     @Test
     void shouldCreateCreditPaymentWhenValidRequest() {
         // Given
-        when(accountRepository.creditBalance(eq("ACC-002"), eq(new BigDecimal("50.00"))))
-                .thenReturn(1);
+        when(accountRepository.creditBalance(eq("ACC-002"), eq(5000L)))
+                .thenReturn(Optional.of(55000L));
         when(paymentMapper.toEntity(any(Payment.class)))
                 .thenReturn(new PaymentEntity());
 
@@ -74,26 +97,31 @@ class CreditPaymentStrategyTest {
         assertThat(result.getType()).isEqualTo(TransactionType.CREDIT);
         assertThat(result.getFromAccountId()).isNull();
         assertThat(result.getToAccountId()).isEqualTo("ACC-002");
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(result.getAmount()).isEqualTo(Money.parse("50.00"));
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 
-        verify(accountRepository).creditBalance("ACC-002", new BigDecimal("50.00"));
+        verify(accountRepository).creditBalance("ACC-002", 5000L);
         verify(paymentRepository).save(any(PaymentEntity.class));
+        verify(paymentMapper).toEntity(new AccountEntry("ACC-002", EntryDirection.IN, result, Money.parse("550.00")));
+        verify(accountEntryRepository).save(any());
+        verify(eventPublisher).publishEvent(AccountBalancesChangedEvent.of(
+                new AccountEntry("ACC-002", EntryDirection.IN, result, Money.parse("550.00"))));
     }
 
     @Test
     void shouldThrowAccountNotFoundExceptionWhenAccountDoesNotExist() {
         // Given
-        when(accountRepository.creditBalance(eq("ACC-002"), eq(new BigDecimal("50.00"))))
-                .thenReturn(0);
+        when(accountRepository.creditBalance(eq("ACC-002"), eq(5000L)))
+                .thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> strategy.execute(request, idempotencyKey))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("ACC-002");
 
-        verify(accountRepository).creditBalance("ACC-002", new BigDecimal("50.00"));
+        verify(accountRepository).creditBalance("ACC-002", 5000L);
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
 
@@ -1,24 +1,34 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
 import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
+import com.alpian.ledger.payment.infrastructure.id.UuidV7Generator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,9 +46,21 @@ class DebitPaymentStrategyTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private AccountEntryRepository accountEntryRepository;
+
     @Mock
     private PaymentMapper paymentMapper;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AccountLockMonitor lockMonitor = new AccountLockMonitor(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private DebitPaymentStrategy strategy;
 
@@ -51,7 +73,7 @@ class DebitPaymentStrategyTest {
                 TransactionType.DEBIT,
                 "ACC-001",
                 null,
-                new BigDecimal("100.00")
+                Money.parse("100.00")
         );
         idempotencyKey = "test-idempotency-key";
     }
@@ -64,8 +86,8 @@ class DebitPaymentStrategyTest {
     @Test
     void shouldCreateDebitPaymentWhenValidRequest() {
         // Given
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("100.00"))))
-                .thenReturn(1);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(10000L)))
+                .thenReturn(Optional.of(90000L));
         when(paymentMapper.toEntity(any(Payment.class)))
                 .thenReturn(new PaymentEntity());
 
@@ -74,21 +96,26 @@ class DebitPaymentStrategyTest {
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(result.getPaymentId().version()).isEqualTo(7);
         assertThat(result.getType()).isEqualTo(TransactionType.DEBIT);
         assertThat(result.getFromAccountId()).isEqualTo("ACC-001");
         assertThat(result.getToAccountId()).isNull();
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(result.getAmount()).isEqualTo(Money.parse("100.00"));
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("100.00"));
+        verify(accountRepository).deductBalance("ACC-001", 10000L);
         verify(paymentRepository).save(any(PaymentEntity.class));
+        verify(paymentMapper).toEntity(new AccountEntry("ACC-001", EntryDirection.OUT, result, Money.parse("900.00")));
+        verify(accountEntryRepository).save(any());
+        verify(eventPublisher).publishEvent(AccountBalancesChangedEvent.of(
+                new AccountEntry("ACC-001", EntryDirection.OUT, result, Money.parse("900.00"))));
     }
 
     @Test
     void shouldThrowAccountNotFoundExceptionWhenAccountDoesNotExist() {
         // Given
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("100.00"))))
-                .thenReturn(0);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(10000L)))
+                .thenReturn(Optional.empty());
         when(accountRepository.findByAccountId("ACC-001"))
                 .thenReturn(Optional.empty());
 
@@ -96,16 +123,17 @@ class DebitPaymentStrategyTest {
         assertThatThrownBy(() -> strategy.execute(request, idempotencyKey))
                 .isInstanceOf(AccountNotFoundException.class);
 
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("100.00"));
+        verify(accountRepository).deductBalance("ACC-001", 10000L);
         verify(accountRepository).findByAccountId("ACC-001");
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void shouldThrowInsufficientFundsExceptionWhenBalanceInsufficient() {
         // Given
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("100.00"))))
-                .thenReturn(0);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(10000L)))
+                .thenReturn(Optional.empty());
         when(accountRepository.findByAccountId("ACC-001"))
                 .thenReturn(Optional.of(mock(AccountEntity.class)));
 
@@ -114,9 +142,10 @@ class DebitPaymentStrategyTest {
                 .isInstanceOf(InsufficientFundsException.class)
                 .hasMessageContaining("Insufficient funds");
 
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("100.00"));
+        verify(accountRepository).deductBalance("ACC-001", 10000L);
         verify(accountRepository).findByAccountId("ACC-001");
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
 
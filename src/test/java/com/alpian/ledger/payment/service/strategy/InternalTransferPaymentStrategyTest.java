@@ -1,24 +1,35 @@
 package com.alpian.ledger.payment.service.strategy;
 
 import com.alpian.ledger.payment.api.dto.CreatePaymentRequest;
+import com.alpian.ledger.payment.domain.AccountEntry;
+import com.alpian.ledger.payment.domain.EntryDirection;
+import com.alpian.ledger.payment.domain.Money;
 import com.alpian.ledger.payment.domain.Payment;
 import com.alpian.ledger.payment.domain.PaymentStatus;
 import com.alpian.ledger.payment.domain.TransactionType;
 import com.alpian.ledger.payment.exception.AccountNotFoundException;
 import com.alpian.ledger.payment.exception.InsufficientFundsException;
+import com.alpian.ledger.payment.infrastructure.id.IdGenerator;
+import com.alpian.ledger.payment.infrastructure.id.UuidV7Generator;
 import com.alpian.ledger.payment.infrastructure.mapper.PaymentMapper;
+import com.alpian.ledger.payment.infrastructure.metrics.AccountLockMonitor;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryEntity;
+import com.alpian.ledger.payment.infrastructure.persistence.AccountEntryRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.AccountRepository;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentEntity;
 import com.alpian.ledger.payment.infrastructure.persistence.PaymentRepository;
+import com.alpian.ledger.payment.service.dto.AccountBalancesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
@@ -38,9 +49,21 @@ class InternalTransferPaymentStrategyTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private AccountEntryRepository accountEntryRepository;
+
     @Mock
     private PaymentMapper paymentMapper;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AccountLockMonitor lockMonitor = new AccountLockMonitor(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private InternalTransferPaymentStrategy strategy;
 
@@ -53,7 +76,7 @@ class InternalTransferPaymentStrategyTest {
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-001",
                 "ACC-002",
-                new BigDecimal("75.00")
+                Money.parse("75.00")
         );
         idempotencyKey = "test-idempotency-key";
     }
@@ -68,12 +91,13 @@ class InternalTransferPaymentStrategyTest {
         // Given
         when(accountRepository.lockAccountsInOrder("ACC-001", "ACC-002"))
                 .thenReturn(Arrays.asList("ACC-001", "ACC-002"));
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("75.00"))))
-                .thenReturn(1);
-        when(accountRepository.creditBalance(eq("ACC-002"), eq(new BigDecimal("75.00"))))
-                .thenReturn(1);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(7500L)))
+                .thenReturn(Optional.of(92500L));
+        when(accountRepository.creditBalance(eq("ACC-002"), eq(7500L)))
+                .thenReturn(Optional.of(57500L));
         when(paymentMapper.toEntity(any(Payment.class)))
                 .thenReturn(new PaymentEntity());
+        when(paymentMapper.toEntity(any(AccountEntry.class))).thenReturn(new AccountEntryEntity());
 
         // When
         Payment result = strategy.execute(request, idempotencyKey);
@@ -83,13 +107,19 @@ class InternalTransferPaymentStrategyTest {
         assertThat(result.getType()).isEqualTo(TransactionType.INTERNAL_TRANSFER);
         assertThat(result.getFromAccountId()).isEqualTo("ACC-001");
         assertThat(result.getToAccountId()).isEqualTo("ACC-002");
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("75.00"));
+        assertThat(result.getAmount()).isEqualTo(Money.parse("75.00"));
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
 
         verify(accountRepository).lockAccountsInOrder("ACC-001", "ACC-002");
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("75.00"));
-        verify(accountRepository).creditBalance("ACC-002", new BigDecimal("75.00"));
+        verify(accountRepository).deductBalance("ACC-001", 7500L);
+        verify(accountRepository).creditBalance("ACC-002", 7500L);
         verify(paymentRepository).save(any(PaymentEntity.class));
+        verify(paymentMapper).toEntity(new AccountEntry("ACC-001", EntryDirection.OUT, result, Money.parse("925.00")));
+        verify(paymentMapper).toEntity(new AccountEntry("ACC-002", EntryDirection.IN, result, Money.parse("575.00")));
+        verify(accountEntryRepository).saveAll(anyList());
+        verify(eventPublisher).publishEvent(AccountBalancesChangedEvent.of(
+                new AccountEntry("ACC-001", EntryDirection.OUT, result, Money.parse("925.00")),
+                new AccountEntry("ACC-002", EntryDirection.IN, result, Money.parse("575.00"))));
     }
 
     @Test
@@ -99,14 +129,15 @@ class InternalTransferPaymentStrategyTest {
                 TransactionType.INTERNAL_TRANSFER,
                 "ACC-002",
                 "ACC-001",
-                new BigDecimal("75.00")
+                Money.parse("75.00")
         );
 
         when(accountRepository.lockAccountsInOrder("ACC-001", "ACC-002"))
                 .thenReturn(Arrays.asList("ACC-001", "ACC-002"));
-        when(accountRepository.deductBalance(any(), any())).thenReturn(1);
-        when(accountRepository.creditBalance(any(), any())).thenReturn(1);
+        when(accountRepository.deductBalance(anyString(), anyLong())).thenReturn(Optional.of(92500L));
+        when(accountRepository.creditBalance(anyString(), anyLong())).thenReturn(Optional.of(57500L));
         when(paymentMapper.toEntity(any(Payment.class))).thenReturn(new PaymentEntity());
+        when(paymentMapper.toEntity(any(AccountEntry.class))).thenReturn(new AccountEntryEntity());
 
         // When
         strategy.execute(reverseRequest, idempotencyKey);
@@ -129,6 +160,7 @@ class InternalTransferPaymentStrategyTest {
                 .hasMessageContaining("ACC-001");
 
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -145,6 +177,7 @@ class InternalTransferPaymentStrategyTest {
                 .hasMessageContaining("ACC-002");
 
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -152,8 +185,8 @@ class InternalTransferPaymentStrategyTest {
         // Given
         when(accountRepository.lockAccountsInOrder("ACC-001", "ACC-002"))
                 .thenReturn(Arrays.asList("ACC-001", "ACC-002"));
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("75.00"))))
-                .thenReturn(0);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(7500L)))
+                .thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> strategy.execute(request, idempotencyKey))
@@ -161,9 +194,10 @@ class InternalTransferPaymentStrategyTest {
                 .hasMessageContaining("Insufficient funds");
 
         verify(accountRepository).lockAccountsInOrder("ACC-001", "ACC-002");
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("75.00"));
-        verify(accountRepository, never()).creditBalance(any(), any());
+        verify(accountRepository).deductBalance("ACC-001", 7500L);
+        verify(accountRepository, never()).creditBalance(anyString(), anyLong());
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -171,19 +205,20 @@ class InternalTransferPaymentStrategyTest {
         // Given
         when(accountRepository.lockAccountsInOrder("ACC-001", "ACC-002"))
                 .thenReturn(Arrays.asList("ACC-001", "ACC-002"));
-        when(accountRepository.deductBalance(eq("ACC-001"), eq(new BigDecimal("75.00"))))
-                .thenReturn(1);
-        when(accountRepository.creditBalance(eq("ACC-002"), eq(new BigDecimal("75.00"))))
-                .thenReturn(0);
+        when(accountRepository.deductBalance(eq("ACC-001"), eq(7500L)))
+                .thenReturn(Optional.of(92500L));
+        when(accountRepository.creditBalance(eq("ACC-002"), eq(7500L)))
+                .thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> strategy.execute(request, idempotencyKey))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("ACC-002");
 
-        verify(accountRepository).deductBalance("ACC-001", new BigDecimal("75.00"));
-        verify(accountRepository).creditBalance("ACC-002", new BigDecimal("75.00"));
+        verify(accountRepository).deductBalance("ACC-001", 7500L);
+        verify(accountRepository).creditBalance("ACC-002", 7500L);
         verify(paymentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
 